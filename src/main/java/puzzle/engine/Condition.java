@@ -0,0 +1,67 @@
+package puzzle.engine;
+
+/**
+ * A condition of a rule specification, evaluated on the squares of the pieces and the
+ * target square of a move. Squares are identified by their indices in row-major order.
+ */
+interface Condition {
+
+    /**
+     * The operand that denotes the target square of the move.
+     */
+    int TARGET = -1;
+
+    /**
+     * {@return whether the condition holds}
+     *
+     * @param squares the square of each piece
+     * @param target the target square of the move, or {@code -1} if the condition is not evaluated for a move
+     */
+    boolean test(int[] squares, int target);
+
+    /**
+     * The condition that always holds.
+     */
+    Condition TRUE = (squares, target) -> true;
+
+    /**
+     * {@return the condition that holds if no piece is at the target square}
+     */
+    static Condition empty() {
+        return (squares, target) -> {
+            for (var square : squares) {
+                if (square == target) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * {@return the condition that holds if the operands are at the same square}
+     *
+     * @param left the index of a piece or {@link #TARGET}
+     * @param right the index of a piece or {@link #TARGET}
+     */
+    static Condition equal(int left, int right) {
+        return (squares, target) -> square(squares, target, left) == square(squares, target, right);
+    }
+
+    private static int square(int[] squares, int target, int operand) {
+        return operand == TARGET ? target : squares[operand];
+    }
+
+    default Condition negate() {
+        return (squares, target) -> ! test(squares, target);
+    }
+
+    default Condition and(Condition other) {
+        return (squares, target) -> test(squares, target) && other.test(squares, target);
+    }
+
+    default Condition or(Condition other) {
+        return (squares, target) -> test(squares, target) || other.test(squares, target);
+    }
+
+}
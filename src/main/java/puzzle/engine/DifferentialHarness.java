@@ -0,0 +1,209 @@
+package puzzle.engine;
+
+import puzzle.search.BreadthFirst;
+import puzzle.state.Direction;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+/**
+ * Validates a move engine against a reference engine and benchmarks both.
+ * <p>
+ * The harness enumerates every valid state and compares the goal test, the legal
+ * moves and the result of each legal move. Then it compares the lengths of the
+ * solutions found by breadth-first search using each engine from a sample of the
+ * states. The comparison stops at the first mismatch. Finally, it measures the time
+ * both engines need to generate all the transitions of the state space.
+ */
+public class DifferentialHarness {
+
+    /**
+     * Represents the outcome of a comparison.
+     *
+     * @param reference the name of the reference engine
+     * @param candidate the name of the engine validated
+     * @param statesCompared the number of states compared
+     * @param transitionsCompared the number of moves compared
+     * @param solverRuns the number of searches compared
+     * @param firstMismatch the description of the first mismatch, or {@code null} if the engines are equivalent
+     * @param referenceNanos the best time in nanoseconds the reference engine needed to generate all
+     *                       transitions, or {@code 0} if the engines have not been benchmarked
+     * @param candidateNanos the best time in nanoseconds the engine validated needed to generate all
+     *                       transitions, or {@code 0} if the engines have not been benchmarked
+     */
+    public record Report(String reference, String candidate, long statesCompared, long transitionsCompared,
+                         int solverRuns, String firstMismatch, long referenceNanos, long candidateNanos) {
+
+        /**
+         * {@return whether no mismatch has been found}
+         */
+        public boolean isEquivalent() {
+            return firstMismatch == null;
+        }
+
+        /**
+         * {@return how many times the engine validated is faster than the reference engine,
+         * or an empty value if the engines have not been benchmarked}
+         */
+        public OptionalDouble getSpeedup() {
+            if (referenceNanos == 0 || candidateNanos == 0) {
+                return OptionalDouble.empty();
+            }
+            return OptionalDouble.of((double) referenceNanos / candidateNanos);
+        }
+
+        @Override
+        public String toString() {
+            var speedup = getSpeedup();
+            return String.format("%s vs %s: %s, %d states, %d transitions, %d searches compared, %s",
+                    candidate, reference, isEquivalent() ? "equivalent" : "MISMATCH " + firstMismatch,
+                    statesCompared, transitionsCompared, solverRuns,
+                    speedup.isEmpty() ? "not benchmarked" : String.format("%.2f ms vs %.2f ms per sweep (%.1fx)",
+                            referenceNanos / 1e6, candidateNanos / 1e6, speedup.getAsDouble()));
+        }
+
+    }
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int solverSampleInterval;
+    private final int benchmarkRounds;
+
+    /**
+     * Creates a {@code DifferentialHarness} object.
+     *
+     * @param solverSampleInterval searches are compared from every {@code solverSampleInterval}th valid state
+     * @param benchmarkRounds the number of times the transitions are generated by each engine,
+     *                        {@code 0} disables benchmarking
+     */
+    public DifferentialHarness(int solverSampleInterval, int benchmarkRounds) {
+        if (solverSampleInterval < 1 || benchmarkRounds < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.solverSampleInterval = solverSampleInterval;
+        this.benchmarkRounds = benchmarkRounds;
+    }
+
+    /**
+     * {@return the outcome of comparing the engines specified}
+     *
+     * @param reference the reference engine
+     * @param candidate the engine to validate
+     */
+    public Report compare(MoveEngine reference, MoveEngine candidate) {
+        var states = 0L;
+        var transitions = 0L;
+        var solverRuns = 0;
+        if (reference.getStateCount() != candidate.getStateCount()) {
+            return report(reference, candidate, states, transitions, solverRuns,
+                    String.format("state count %d != %d", candidate.getStateCount(), reference.getStateCount()),
+                    null);
+        }
+        var validStates = new long[reference.getStateCount()];
+        var validCount = 0;
+        for (var state = 0L; state < reference.getStateCount(); state++) {
+            var valid = reference.isValid(state);
+            if (valid != candidate.isValid(state)) {
+                return report(reference, candidate, states, transitions, solverRuns,
+                        String.format("isValid(%d) = %b", state, ! valid), null);
+            }
+            if (! valid) {
+                continue;
+            }
+            validStates[validCount++] = state;
+            states++;
+            if (reference.isGoal(state) != candidate.isGoal(state)) {
+                return report(reference, candidate, states, transitions, solverRuns,
+                        String.format("isGoal(%d) = %b", state, ! reference.isGoal(state)), null);
+            }
+            var legalMoves = reference.getLegalMoves(state);
+            if (legalMoves != candidate.getLegalMoves(state)) {
+                return report(reference, candidate, states, transitions, solverRuns,
+                        String.format("getLegalMoves(%d) = %s instead of %s", state,
+                                toString(candidate.getLegalMoves(state)), toString(legalMoves)), null);
+            }
+            for (var direction : DIRECTIONS) {
+                if ((legalMoves & (1 << direction.ordinal())) != 0) {
+                    transitions++;
+                    var expected = reference.move(state, direction);
+                    var actual = candidate.move(state, direction);
+                    if (expected != actual) {
+                        return report(reference, candidate, states, transitions, solverRuns,
+                                String.format("move(%d, %s) = %d instead of %d", state, direction, actual, expected),
+                                null);
+                    }
+                }
+            }
+        }
+        validStates = Arrays.copyOf(validStates, validCount);
+        var search = new BreadthFirst();
+        for (var i = 0; i < validStates.length; i += solverSampleInterval) {
+            solverRuns++;
+            var expected = search.search(new EngineProblem(reference, validStates[i]));
+            var actual = search.search(new EngineProblem(candidate, validStates[i]));
+            var expectedLength = expected == null ? -1 : expected.getLength();
+            var actualLength = actual == null ? -1 : actual.getLength();
+            if (expectedLength != actualLength) {
+                return report(reference, candidate, states, transitions, solverRuns,
+                        String.format("solution length from %d = %d instead of %d",
+                                validStates[i], actualLength, expectedLength), null);
+            }
+        }
+        return report(reference, candidate, states, transitions, solverRuns, null, validStates);
+    }
+
+    private Report report(MoveEngine reference, MoveEngine candidate, long states, long transitions,
+                          int solverRuns, String mismatch, long[] validStates) {
+        var referenceNanos = Long.MAX_VALUE;
+        var candidateNanos = Long.MAX_VALUE;
+        if (validStates != null && benchmarkRounds > 0) {
+            for (var round = 0; round < benchmarkRounds; round++) {
+                referenceNanos = Math.min(referenceNanos, sweep(reference, validStates));
+                candidateNanos = Math.min(candidateNanos, sweep(candidate, validStates));
+            }
+        } else {
+            referenceNanos = candidateNanos = 0;
+        }
+        return new Report(reference.getName(), candidate.getName(), states, transitions, solverRuns, mismatch,
+                referenceNanos, candidateNanos);
+    }
+
+    private static volatile long sink;
+
+    /**
+     * {@return the time in nanoseconds needed to generate all the transitions from the states specified}
+     */
+    private static long sweep(MoveEngine engine, long[] states) {
+        var start = System.nanoTime();
+        var checksum = 0L;
+        for (var state : states) {
+            var legalMoves = engine.getLegalMoves(state);
+            for (var direction : DIRECTIONS) {
+                if ((legalMoves & (1 << direction.ordinal())) != 0) {
+                    checksum += engine.move(state, direction);
+                }
+            }
+        }
+        var time = System.nanoTime() - start;
+        sink += checksum; // prevents the elimination of the loop
+        return time;
+    }
+
+    private static String toString(int legalMoves) {
+        var sb = new StringBuilder("[");
+        for (var direction : DIRECTIONS) {
+            if ((legalMoves & (1 << direction.ordinal())) != 0) {
+                sb.append(sb.length() > 1 ? "," : "").append(direction);
+            }
+        }
+        return sb.append("]").toString();
+    }
+
+    public static void main(String[] args) {
+        var harness = new DifferentialHarness(1, 20);
+        var reference = new ReferenceEngine();
+        System.out.println(harness.compare(reference, new PackedEngine()));
+        System.out.println(harness.compare(reference, new TableEngine()));
+    }
+
+}
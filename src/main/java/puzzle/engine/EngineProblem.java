@@ -0,0 +1,44 @@
+package puzzle.engine;
+
+import puzzle.search.LongSearchProblem;
+import puzzle.state.Direction;
+
+/**
+ * The puzzle as a {@link LongSearchProblem} whose rules are implemented by a move engine.
+ */
+class EngineProblem implements LongSearchProblem {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final MoveEngine engine;
+    private final long initialState;
+
+    EngineProblem(MoveEngine engine, long initialState) {
+        this.engine = engine;
+        this.initialState = initialState;
+    }
+
+    @Override
+    public long getInitialState() {
+        return initialState;
+    }
+
+    @Override
+    public int getActionCount() {
+        return DIRECTIONS.length;
+    }
+
+    @Override
+    public long getSuccessor(long state, int action) {
+        if ((engine.getLegalMoves(state) & (1 << action)) == 0) {
+            return NONE;
+        }
+        return engine.move(state, DIRECTIONS[action]);
+    }
+
+    @Override
+    public boolean isGoal(long state) {
+        return engine.isGoal(state);
+    }
+
+}
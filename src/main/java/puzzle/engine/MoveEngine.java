@@ -0,0 +1,52 @@
+package puzzle.engine;
+
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+
+/**
+ * Implements the rules of the puzzle on states packed by {@link PuzzleState#pack()}.
+ * Legal moves are represented as bit masks, the bit {@code 1 << direction.ordinal()}
+ * is set if the block can be moved to the direction.
+ */
+public interface MoveEngine {
+
+    /**
+     * {@return the name of the engine}
+     */
+    String getName();
+
+    /**
+     * {@return the number of values that {@link PuzzleState#pack()} can return}
+     */
+    int getStateCount();
+
+    /**
+     * {@return whether the number specified encodes a valid state}
+     *
+     * @param state a number between {@code 0} and {@code getStateCount() - 1}
+     */
+    boolean isValid(long state);
+
+    /**
+     * {@return whether the state specified is a goal state}
+     *
+     * @param state a packed valid state
+     */
+    boolean isGoal(long state);
+
+    /**
+     * {@return the bit mask of the directions to which the block can be moved}
+     *
+     * @param state a packed valid state
+     */
+    int getLegalMoves(long state);
+
+    /**
+     * {@return the state resulting from moving the block to the direction specified}
+     *
+     * @param state a packed valid state
+     * @param direction a direction to which the block can be moved in the state
+     */
+    long move(long state, Direction direction);
+
+}
@@ -0,0 +1,137 @@
+package puzzle.engine;
+
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+
+/**
+ * The move engine that implements the rules directly on the digits of packed states,
+ * without creating objects. The digits are the square indices of the block, the red,
+ * the blue and the black shoe, as described at {@link PuzzleState#pack()}.
+ */
+public class PackedEngine implements MoveEngine {
+
+    private static final int SIZE = PuzzleState.BOARD_SIZE;
+
+    private static final int CELLS = SIZE * SIZE;
+
+    private static final int STATE_COUNT = CELLS * CELLS * CELLS * CELLS;
+
+    private static final int UP = 1 << Direction.UP.ordinal();
+    private static final int RIGHT = 1 << Direction.RIGHT.ordinal();
+    private static final int DOWN = 1 << Direction.DOWN.ordinal();
+    private static final int LEFT = 1 << Direction.LEFT.ordinal();
+
+    @Override
+    public String getName() {
+        return "packed";
+    }
+
+    @Override
+    public int getStateCount() {
+        return STATE_COUNT;
+    }
+
+    @Override
+    public boolean isValid(long state) {
+        return isValidState(state);
+    }
+
+    /**
+     * {@return whether the number specified encodes a valid state}
+     *
+     * @param state a number
+     */
+    static boolean isValidState(long state) {
+        return state >= 0 && state < STATE_COUNT && black(state) != blue(state);
+    }
+
+    @Override
+    public boolean isGoal(long state) {
+        return red(state) == blue(state);
+    }
+
+    @Override
+    public int getLegalMoves(long state) {
+        int block = block(state), red = red(state), blue = blue(state), black = black(state);
+        var legalMoves = 0;
+        if (block >= SIZE && isEmpty(block - SIZE, block, red, blue, black)) {
+            legalMoves |= UP;
+        }
+        if (block % SIZE != SIZE - 1) {
+            var right = block + 1;
+            if (isEmpty(right, block, red, blue, black) || (black == right && blue != block)) {
+                legalMoves |= RIGHT;
+            }
+        }
+        if (block < CELLS - SIZE) {
+            var down = block + SIZE;
+            if (isEmpty(down, block, red, blue, black)
+                    || (black != block && black != down && (blue == down || (red == down && blue != block)))) {
+                legalMoves |= DOWN;
+            }
+        }
+        if (block % SIZE != 0 && isEmpty(block - 1, block, red, blue, black)) {
+            legalMoves |= LEFT;
+        }
+        return legalMoves;
+    }
+
+    @Override
+    public long move(long state, Direction direction) {
+        int block = block(state), red = red(state), blue = blue(state), black = black(state);
+        switch (direction) {
+            case UP -> {
+                if (black == block) {
+                    if (red == block) {
+                        red -= SIZE;
+                    }
+                    black -= SIZE;
+                }
+                block -= SIZE;
+            }
+            case RIGHT -> {
+                red += red == block ? 1 : 0;
+                blue += blue == block ? 1 : 0;
+                black += black == block ? 1 : 0;
+                block++;
+            }
+            case DOWN -> {
+                red += red == block ? SIZE : 0;
+                blue += blue == block ? SIZE : 0;
+                black += black == block ? SIZE : 0;
+                block += SIZE;
+            }
+            case LEFT -> {
+                red -= red == block ? 1 : 0;
+                blue -= blue == block ? 1 : 0;
+                block--;
+            }
+        }
+        return pack(block, red, blue, black);
+    }
+
+    private static boolean isEmpty(int square, int block, int red, int blue, int black) {
+        return square != block && square != red && square != blue && square != black;
+    }
+
+    static long pack(int block, int red, int blue, int black) {
+        return ((block * CELLS + red) * CELLS + blue) * CELLS + black;
+    }
+
+    static int block(long state) {
+        return (int) (state / (CELLS * CELLS * CELLS));
+    }
+
+    static int red(long state) {
+        return (int) (state / (CELLS * CELLS) % CELLS);
+    }
+
+    static int blue(long state) {
+        return (int) (state / CELLS % CELLS);
+    }
+
+    static int black(long state) {
+        return (int) (state % CELLS);
+    }
+
+}
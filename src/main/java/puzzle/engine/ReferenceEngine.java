@@ -0,0 +1,54 @@
+package puzzle.engine;
+
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+
+/**
+ * The move engine that delegates to {@link PuzzleState}, the reference implementation of the rules.
+ */
+public class ReferenceEngine implements MoveEngine {
+
+    private static final int STATE_COUNT = (int) Math.pow(PuzzleState.BOARD_SIZE * PuzzleState.BOARD_SIZE, 4);
+
+    @Override
+    public String getName() {
+        return "reference";
+    }
+
+    @Override
+    public int getStateCount() {
+        return STATE_COUNT;
+    }
+
+    @Override
+    public boolean isValid(long state) {
+        try {
+            PuzzleState.unpack(state);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isGoal(long state) {
+        return PuzzleState.unpack(state).isGoal();
+    }
+
+    @Override
+    public int getLegalMoves(long state) {
+        var legalMoves = 0;
+        for (var direction : PuzzleState.unpack(state).getLegalMoves()) {
+            legalMoves |= 1 << direction.ordinal();
+        }
+        return legalMoves;
+    }
+
+    @Override
+    public long move(long state, Direction direction) {
+        var puzzleState = PuzzleState.unpack(state);
+        puzzleState.move(direction);
+        return puzzleState.pack();
+    }
+
+}
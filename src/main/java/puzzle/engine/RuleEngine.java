@@ -0,0 +1,148 @@
+package puzzle.engine;
+
+import puzzle.state.Direction;
+
+import java.util.Arrays;
+
+/**
+ * The move engine compiled from a {@link RuleSpec}.
+ * <p>
+ * At construction, the conditions of the specification are evaluated for every
+ * packed state and direction once, and the results are stored in tables: a flag
+ * byte per state holding the validity, the goal test and the legal moves, and the
+ * successor of each state in each direction. The operations of the engine are
+ * then single table lookups, whatever the complexity of the rules. States are
+ * packed as described at {@link puzzle.state.PuzzleState#pack()}, with the pieces in
+ * the order of the specification, thus the engine compiled from
+ * {@link RuleSpec#standard()} is interchangeable with the other engines.
+ */
+public class RuleEngine implements MoveEngine {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static final int VALID = 1 << DIRECTIONS.length;
+    private static final int GOAL = VALID << 1;
+    private static final int LEGAL_MOVES = VALID - 1;
+
+    private final String name;
+    private final byte[] flags;
+    private final int[] successors;
+
+    /**
+     * Creates a {@code RuleEngine} object by compiling the specification specified.
+     *
+     * @param spec a rule specification
+     * @throws IllegalArgumentException if the state space is too large or a legal move
+     *         results in an invalid state
+     */
+    public RuleEngine(RuleSpec spec) {
+        name = "rules:" + spec.getName();
+        var size = spec.getBoardSize();
+        var cells = size * size;
+        var pieceCount = spec.getPieces().size();
+        var stateCount = 1L;
+        for (var i = 0; i < pieceCount; i++) {
+            stateCount *= cells;
+            if (stateCount * DIRECTIONS.length > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many states");
+            }
+        }
+        flags = new byte[(int) stateCount];
+        successors = new int[(int) stateCount * DIRECTIONS.length];
+        Arrays.fill(successors, -1);
+        var squares = new int[pieceCount];
+        var moved = new int[pieceCount];
+        for (var state = 0; state < stateCount; state++) {
+            unpack(state, cells, squares);
+            if (spec.getInvalid().test(squares, -1)) {
+                continue;
+            }
+            var flag = VALID;
+            if (spec.getGoal().test(squares, -1)) {
+                flag |= GOAL;
+            }
+            var mover = squares[spec.getMover()];
+            for (var direction : DIRECTIONS) {
+                var row = mover / size + direction.getRowChange();
+                var col = mover % size + direction.getColChange();
+                var condition = spec.getMove(direction);
+                if (row < 0 || row >= size || col < 0 || col >= size || condition == null) {
+                    continue;
+                }
+                var target = row * size + col;
+                if (! condition.test(squares, target)) {
+                    continue;
+                }
+                System.arraycopy(squares, 0, moved, 0, pieceCount);
+                for (var carry : spec.getCarries(direction)) {
+                    if (squares[carry.piece()] == mover && carry.condition().test(squares, target)) {
+                        moved[carry.piece()] = target;
+                    }
+                }
+                moved[spec.getMover()] = target;
+                if (spec.getInvalid().test(moved, -1)) {
+                    throw new IllegalArgumentException(String.format("Moving %s results in an invalid state from %s",
+                            direction, Arrays.toString(squares)));
+                }
+                flag |= 1 << direction.ordinal();
+                successors[state * DIRECTIONS.length + direction.ordinal()] = pack(moved, cells);
+            }
+            flags[state] = (byte) flag;
+        }
+    }
+
+    private static void unpack(int state, int cells, int[] squares) {
+        for (var i = squares.length - 1; i >= 0; i--) {
+            squares[i] = state % cells;
+            state /= cells;
+        }
+    }
+
+    private static int pack(int[] squares, int cells) {
+        var state = 0;
+        for (var square : squares) {
+            state = state * cells + square;
+        }
+        return state;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getStateCount() {
+        return flags.length;
+    }
+
+    @Override
+    public boolean isValid(long state) {
+        return (flags[(int) state] & VALID) != 0;
+    }
+
+    @Override
+    public boolean isGoal(long state) {
+        return (flags[(int) state] & GOAL) != 0;
+    }
+
+    @Override
+    public int getLegalMoves(long state) {
+        return flags[(int) state] & LEGAL_MOVES;
+    }
+
+    @Override
+    public long move(long state, Direction direction) {
+        return successors[(int) state * DIRECTIONS.length + direction.ordinal()];
+    }
+
+    public static void main(String[] args) {
+        var spec = args.length > 0 ? RuleSpec.load(args[0]) : RuleSpec.standard();
+        var start = System.nanoTime();
+        var engine = new RuleEngine(spec);
+        System.out.printf("Compiled %s in %.2f ms%n", engine.getName(), (System.nanoTime() - start) / 1e6);
+        System.out.println(new DifferentialHarness(1, 20).compare(new ReferenceEngine(), engine));
+        System.out.println(new DifferentialHarness(1, 20).compare(new PackedEngine(), engine));
+    }
+
+}
@@ -0,0 +1,360 @@
+package puzzle.engine;
+
+import puzzle.state.Direction;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A declarative description of the rules of a puzzle, see {@link RuleEngine}.
+ * <p>
+ * A specification consists of lines, each a statement or a comment starting with
+ * {@code #}. The statements are:
+ * <ul>
+ *     <li>{@code name <name>} the name of the rules,</li>
+ *     <li>{@code board <size>} the number of rows and columns of the board,</li>
+ *     <li>{@code pieces <piece> ...} the names of the pieces in the order of packing,</li>
+ *     <li>{@code mover <piece>} the piece moved by the player,</li>
+ *     <li>{@code invalid <condition>} the condition under which a state is invalid,</li>
+ *     <li>{@code goal <condition>} the condition under which a state is a goal state,</li>
+ *     <li>{@code move <direction> if <condition>} the condition under which the
+ *     mover can be moved to the direction, if it stays on the board,</li>
+ *     <li>{@code carry <direction> <piece> ... [if <condition>]} the pieces carried
+ *     by the mover when moved to the direction, if they are at the same square
+ *     with the mover and the condition holds.</li>
+ * </ul>
+ * Conditions are built from comparisons of pieces with {@code ==} and {@code !=},
+ * the operators {@code !}, {@code &} and {@code |} in decreasing order of precedence,
+ * and parentheses. In the conditions of moves and carries, {@code target} denotes the
+ * square to which the mover is moved, and {@code empty} holds if no piece is there.
+ */
+public final class RuleSpec {
+
+    private static final Pattern TOKEN = Pattern.compile("\\s*(==|!=|[!&|()]|\\w+)");
+
+    /**
+     * Represents the carrying of a piece.
+     *
+     * @param piece the index of the piece
+     * @param condition the condition under which the piece is carried
+     */
+    record Carry(int piece, Condition condition) {
+    }
+
+    private String name = "rules";
+    private int boardSize;
+    private final List<String> pieces = new ArrayList<>();
+    private int mover = -1;
+    private Condition invalid = Condition.TRUE.negate();
+    private Condition goal;
+    private final Map<Direction, Condition> moves = new EnumMap<>(Direction.class);
+    private final Map<Direction, List<Carry>> carries = new EnumMap<>(Direction.class);
+
+    private RuleSpec() {
+        for (var direction : Direction.values()) {
+            carries.put(direction, new ArrayList<>());
+        }
+    }
+
+    /**
+     * {@return the specification loaded from the classpath resource specified}
+     *
+     * @param resource the name of the resource
+     * @throws IllegalArgumentException if the resource does not exist or is not a valid specification
+     */
+    public static RuleSpec load(String resource) {
+        try (var in = RuleSpec.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Missing resource " + resource);
+            }
+            return parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * {@return the specification of the rules implemented by {@link puzzle.state.PuzzleState}}
+     */
+    public static RuleSpec standard() {
+        return load("puzzle/engine/standard.rules");
+    }
+
+    /**
+     * {@return the specification parsed from the text specified}
+     *
+     * @param text a specification
+     * @throws IllegalArgumentException if the text is not a valid specification
+     */
+    public static RuleSpec parse(String text) {
+        var spec = new RuleSpec();
+        var lines = text.split("\\R");
+        for (var i = 0; i < lines.length; i++) {
+            var line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                spec.parseStatement(tokenize(line));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("Line %d: %s", i + 1, e.getMessage()), e);
+            }
+        }
+        if (spec.boardSize == 0 || spec.pieces.isEmpty() || spec.mover < 0 || spec.goal == null) {
+            throw new IllegalArgumentException("The board, the pieces, the mover and the goal must be specified");
+        }
+        return spec;
+    }
+
+    private static List<String> tokenize(String line) {
+        var tokens = new ArrayList<String>();
+        var matcher = TOKEN.matcher(line);
+        var end = 0;
+        while (matcher.lookingAt()) {
+            tokens.add(matcher.group(1));
+            end = matcher.end();
+            matcher.region(end, line.length());
+        }
+        if (! line.substring(end).isBlank()) {
+            throw new IllegalArgumentException("Unexpected character " + line.substring(end).strip().charAt(0));
+        }
+        return tokens;
+    }
+
+    private void parseStatement(List<String> tokens) {
+        var parser = new Parser(tokens);
+        var keyword = parser.next();
+        switch (keyword) {
+            case "name" -> name = parser.next();
+            case "board" -> {
+                if (boardSize != 0) {
+                    throw new IllegalArgumentException("Duplicate board");
+                }
+                boardSize = parseNumber(parser.next());
+            }
+            case "pieces" -> {
+                if (! pieces.isEmpty()) {
+                    throw new IllegalArgumentException("Duplicate pieces");
+                }
+                while (parser.hasNext()) {
+                    var piece = parser.next();
+                    if (pieces.contains(piece) || piece.equals("target") || piece.equals("empty")) {
+                        throw new IllegalArgumentException("Invalid piece " + piece);
+                    }
+                    pieces.add(piece);
+                }
+            }
+            case "mover" -> mover = parser.piece();
+            case "invalid" -> invalid = parser.condition(false);
+            case "goal" -> goal = parser.condition(false);
+            case "move" -> {
+                var direction = parser.direction();
+                parser.expect("if");
+                if (moves.putIfAbsent(direction, parser.condition(true)) != null) {
+                    throw new IllegalArgumentException("Duplicate move " + direction);
+                }
+            }
+            case "carry" -> {
+                var direction = parser.direction();
+                var carried = new ArrayList<Integer>();
+                do {
+                    carried.add(parser.piece());
+                } while (parser.hasNext() && ! parser.peek().equals("if"));
+                var condition = Condition.TRUE;
+                if (parser.hasNext()) {
+                    parser.expect("if");
+                    condition = parser.condition(true);
+                }
+                for (var piece : carried) {
+                    carries.get(direction).add(new Carry(piece, condition));
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown statement " + keyword);
+        }
+        if (parser.hasNext()) {
+            throw new IllegalArgumentException("Unexpected " + parser.peek());
+        }
+    }
+
+    private static int parseNumber(String token) {
+        try {
+            var number = Integer.parseInt(token);
+            if (number < 1) {
+                throw new IllegalArgumentException("Invalid number " + token);
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number " + token);
+        }
+    }
+
+    /**
+     * A recursive descent parser of the tokens of a statement.
+     */
+    private class Parser {
+
+        private final List<String> tokens;
+        private int position;
+        private boolean allowTarget;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        boolean hasNext() {
+            return position < tokens.size();
+        }
+
+        String peek() {
+            return hasNext() ? tokens.get(position) : "";
+        }
+
+        String next() {
+            if (! hasNext()) {
+                throw new IllegalArgumentException("Unexpected end of line");
+            }
+            return tokens.get(position++);
+        }
+
+        void expect(String token) {
+            var actual = next();
+            if (! actual.equals(token)) {
+                throw new IllegalArgumentException(String.format("Expected %s instead of %s", token, actual));
+            }
+        }
+
+        int piece() {
+            var token = next();
+            var piece = pieces.indexOf(token);
+            if (piece < 0) {
+                throw new IllegalArgumentException("Unknown piece " + token);
+            }
+            return piece;
+        }
+
+        Direction direction() {
+            var token = next();
+            try {
+                return Direction.valueOf(token);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown direction " + token);
+            }
+        }
+
+        Condition condition(boolean allowTarget) {
+            this.allowTarget = allowTarget;
+            return or();
+        }
+
+        private Condition or() {
+            var condition = and();
+            while (peek().equals("|")) {
+                next();
+                condition = condition.or(and());
+            }
+            return condition;
+        }
+
+        private Condition and() {
+            var condition = unary();
+            while (peek().equals("&")) {
+                next();
+                condition = condition.and(unary());
+            }
+            return condition;
+        }
+
+        private Condition unary() {
+            if (peek().equals("!")) {
+                next();
+                return unary().negate();
+            }
+            if (peek().equals("(")) {
+                next();
+                var condition = or();
+                expect(")");
+                return condition;
+            }
+            if (peek().equals("empty")) {
+                next();
+                checkTarget("empty");
+                return Condition.empty();
+            }
+            var left = operand();
+            var operator = next();
+            var right = operand();
+            return switch (operator) {
+                case "==" -> Condition.equal(left, right);
+                case "!=" -> Condition.equal(left, right).negate();
+                default -> throw new IllegalArgumentException("Expected == or != instead of " + operator);
+            };
+        }
+
+        private int operand() {
+            if (peek().equals("target")) {
+                next();
+                checkTarget("target");
+                return Condition.TARGET;
+            }
+            return piece();
+        }
+
+        private void checkTarget(String token) {
+            if (! allowTarget) {
+                throw new IllegalArgumentException(token + " is allowed only in moves and carries");
+            }
+        }
+
+    }
+
+    /**
+     * {@return the name of the rules}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * {@return the number of rows and columns of the board}
+     */
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * {@return the names of the pieces in the order of packing}
+     */
+    public List<String> getPieces() {
+        return List.copyOf(pieces);
+    }
+
+    int getMover() {
+        return mover;
+    }
+
+    Condition getInvalid() {
+        return invalid;
+    }
+
+    Condition getGoal() {
+        return goal;
+    }
+
+    /**
+     * {@return the condition of the move to the direction specified, or {@code null} if the move is never legal}
+     */
+    Condition getMove(Direction direction) {
+        return moves.get(direction);
+    }
+
+    List<Carry> getCarries(Direction direction) {
+        return carries.get(direction);
+    }
+
+}
@@ -0,0 +1,127 @@
+package puzzle.engine;
+
+import puzzle.state.Direction;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A compact batch of solutions, each a packed initial state and a sequence of moves.
+ * Moves are stored as the ordinals of their directions in two bits each, thirty-two
+ * moves per {@code long} word, and the moves of each solution start at a new word.
+ */
+public class SolutionBatch {
+
+    private static final int MOVES_PER_WORD = Long.SIZE / 2;
+
+    private long[] starts = new long[16];
+    private int[] lengths = new int[16];
+    private int[] offsets = new int[16];
+    private long[] words = new long[16];
+    private int size;
+    private int wordCount;
+
+    /**
+     * Adds a solution to the batch.
+     *
+     * @param start the packed initial state
+     * @param moves the directions of the moves
+     */
+    public void add(long start, Direction... moves) {
+        var ordinals = new int[moves.length];
+        for (var i = 0; i < moves.length; i++) {
+            ordinals[i] = moves[i].ordinal();
+        }
+        add(start, ordinals, ordinals.length);
+    }
+
+    /**
+     * Adds a solution to the batch.
+     *
+     * @param start the packed initial state
+     * @param moves the ordinals of the directions of the moves
+     * @param length the number of moves
+     */
+    public void add(long start, int[] moves, int length) {
+        if (length < 0 || length > moves.length) {
+            throw new IllegalArgumentException("Invalid length " + length);
+        }
+        for (var i = 0; i < length; i++) {
+            if (moves[i] < 0 || moves[i] > 3) {
+                throw new IllegalArgumentException("Invalid move " + moves[i]);
+            }
+        }
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, 2 * size);
+            lengths = Arrays.copyOf(lengths, 2 * size);
+            offsets = Arrays.copyOf(offsets, 2 * size);
+        }
+        var required = wordCount + (length + MOVES_PER_WORD - 1) / MOVES_PER_WORD;
+        if (required > words.length) {
+            words = Arrays.copyOf(words, Math.max(required, 2 * words.length));
+        }
+        for (var word = 0; word < required - wordCount; word++) {
+            var bits = 0L;
+            for (var i = word * MOVES_PER_WORD; i < Math.min(length, (word + 1) * MOVES_PER_WORD); i++) {
+                bits |= (long) moves[i] << 2 * (i % MOVES_PER_WORD);
+            }
+            words[wordCount + word] = bits;
+        }
+        starts[size] = start;
+        lengths[size] = length;
+        offsets[size] = wordCount;
+        size++;
+        wordCount = required;
+    }
+
+    /**
+     * {@return the number of solutions}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return the packed initial state of a solution}
+     *
+     * @param solution the index of a solution
+     */
+    public long getStart(int solution) {
+        return starts[checkIndex(solution)];
+    }
+
+    /**
+     * {@return the number of moves of a solution}
+     *
+     * @param solution the index of a solution
+     */
+    public int getLength(int solution) {
+        return lengths[checkIndex(solution)];
+    }
+
+    /**
+     * {@return the ordinal of the direction of a move of a solution}
+     *
+     * @param solution the index of a solution
+     * @param move the index of a move of the solution
+     */
+    public int getMove(int solution, int move) {
+        Objects.checkIndex(move, lengths[checkIndex(solution)]);
+        return (int) (words[offsets[solution] + move / MOVES_PER_WORD] >>> 2 * (move % MOVES_PER_WORD)) & 3;
+    }
+
+    /**
+     * {@return the approximate number of bytes used by the batch}
+     */
+    public long getMemoryUsage() {
+        return (long) starts.length * (Long.BYTES + 2 * Integer.BYTES) + (long) words.length * Long.BYTES;
+    }
+
+    private int checkIndex(int solution) {
+        if (solution < 0 || solution >= size) {
+            throw new IndexOutOfBoundsException(solution);
+        }
+        return solution;
+    }
+
+}
@@ -0,0 +1,236 @@
+package puzzle.engine;
+
+import puzzle.state.Direction;
+import puzzle.tables.LookupTables;
+
+import java.util.stream.IntStream;
+
+/**
+ * Replays stored solutions to audit them in bulk.
+ * <p>
+ * Each move of a solution is checked to be legal before it is made, the final state
+ * must be a goal state, and the number of moves is compared with the known goal
+ * distance of the initial state to flag solutions that are not optimal. The states
+ * are replayed as packed numbers by a {@link MoveEngine}, thus replaying a solution
+ * allocates nothing, and the solutions of a batch can be verified in parallel.
+ */
+public class SolutionVerifier {
+
+    /**
+     * The outcome of verifying a single solution.
+     */
+    public enum Verdict {
+        /** The solution reaches a goal state with the minimum number of moves. */
+        OPTIMAL,
+        /** The solution reaches a goal state with more moves than needed. */
+        NON_OPTIMAL,
+        /** The initial state is not valid. */
+        INVALID_START,
+        /** A move of the solution is not legal. */
+        ILLEGAL_MOVE,
+        /** The final state is not a goal state. */
+        UNSOLVED
+    }
+
+    /**
+     * Represents the outcome of verifying a batch of solutions.
+     *
+     * @param engine the name of the engine used for replaying
+     * @param solutions the number of solutions verified
+     * @param moves the number of moves of the solutions
+     * @param optimal the number of optimal solutions
+     * @param nonOptimal the number of correct solutions that are not optimal
+     * @param invalid the number of incorrect solutions
+     * @param firstInvalid the index of the first incorrect solution, or {@code -1} if all solutions are correct
+     * @param nanos the time in nanoseconds the verification took
+     */
+    public record Report(String engine, int solutions, long moves, int optimal, int nonOptimal, int invalid,
+                         int firstInvalid, long nanos) {
+
+        /**
+         * {@return whether all solutions are correct}
+         */
+        public boolean isCorrect() {
+            return invalid == 0;
+        }
+
+        /**
+         * {@return the number of solutions verified per second}
+         */
+        public double getSolutionsPerSecond() {
+            return solutions * 1e9 / Math.max(1, nanos);
+        }
+
+        /**
+         * {@return the number of moves replayed per second}
+         */
+        public double getMovesPerSecond() {
+            return moves * 1e9 / Math.max(1, nanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d solutions, %d optimal, %d not optimal, %d incorrect%s, "
+                            + "%.2f ms (%.0f solutions/s, %.0f moves/s)",
+                    engine, solutions, optimal, nonOptimal, invalid,
+                    firstInvalid < 0 ? "" : " (first " + firstInvalid + ")",
+                    nanos / 1e6, getSolutionsPerSecond(), getMovesPerSecond());
+        }
+
+    }
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static final Verdict[] VERDICTS = Verdict.values();
+
+    private final MoveEngine engine;
+    private final int[] distances;
+    private final boolean parallel;
+
+    /**
+     * Creates a {@code SolutionVerifier} object that replays solutions with a
+     * {@link TableEngine} and takes the goal distances from the {@link LookupTables}.
+     *
+     * @param parallel whether the solutions of a batch are verified in parallel
+     */
+    public SolutionVerifier(boolean parallel) {
+        this(new TableEngine(), getTableDistances(), parallel);
+    }
+
+    /**
+     * Creates a {@code SolutionVerifier} object.
+     *
+     * @param engine the engine used for replaying the solutions
+     * @param distances the minimum number of moves needed to reach a goal state from each
+     *                  packed state, negative if no goal state is reachable
+     * @param parallel whether the solutions of a batch are verified in parallel
+     */
+    public SolutionVerifier(MoveEngine engine, int[] distances, boolean parallel) {
+        if (distances.length != engine.getStateCount()) {
+            throw new IllegalArgumentException();
+        }
+        this.engine = engine;
+        this.distances = distances.clone();
+        this.parallel = parallel;
+    }
+
+    private static int[] getTableDistances() {
+        var tables = LookupTables.getInstance();
+        var distances = new int[tables.getStateCount()];
+        for (var state = 0; state < distances.length; state++) {
+            distances[state] = tables.getDistance(state);
+        }
+        return distances;
+    }
+
+    /**
+     * {@return the outcome of verifying all solutions of the batch specified}
+     *
+     * @param batch the solutions
+     */
+    public Report verify(SolutionBatch batch) {
+        var start = System.nanoTime();
+        var verdicts = new byte[batch.size()];
+        var indices = IntStream.range(0, verdicts.length);
+        (parallel ? indices.parallel() : indices).forEach(i -> verdicts[i] = (byte) replay(batch, i));
+        var nanos = System.nanoTime() - start;
+        var moves = 0L;
+        var counts = new int[VERDICTS.length];
+        var firstInvalid = -1;
+        for (var i = 0; i < verdicts.length; i++) {
+            moves += batch.getLength(i);
+            counts[verdicts[i]]++;
+            if (firstInvalid < 0 && verdicts[i] > Verdict.NON_OPTIMAL.ordinal()) {
+                firstInvalid = i;
+            }
+        }
+        var optimal = counts[Verdict.OPTIMAL.ordinal()];
+        var nonOptimal = counts[Verdict.NON_OPTIMAL.ordinal()];
+        return new Report(engine.getName(), verdicts.length, moves, optimal, nonOptimal,
+                verdicts.length - optimal - nonOptimal, firstInvalid, nanos);
+    }
+
+    /**
+     * {@return the outcome of verifying a solution of the batch specified}
+     *
+     * @param batch the solutions
+     * @param solution the index of the solution to verify
+     */
+    public Verdict verify(SolutionBatch batch, int solution) {
+        return VERDICTS[replay(batch, solution)];
+    }
+
+    private int replay(SolutionBatch batch, int solution) {
+        var start = batch.getStart(solution);
+        if (start < 0 || start >= distances.length || ! engine.isValid(start)) {
+            return Verdict.INVALID_START.ordinal();
+        }
+        var length = batch.getLength(solution);
+        var state = start;
+        for (var i = 0; i < length; i++) {
+            var move = batch.getMove(solution, i);
+            if ((engine.getLegalMoves(state) & 1 << move) == 0) {
+                return Verdict.ILLEGAL_MOVE.ordinal();
+            }
+            state = engine.move(state, DIRECTIONS[move]);
+        }
+        if (! engine.isGoal(state)) {
+            return Verdict.UNSOLVED.ordinal();
+        }
+        return length > distances[(int) start] ? Verdict.NON_OPTIMAL.ordinal() : Verdict.OPTIMAL.ordinal();
+    }
+
+    /**
+     * {@return a batch that contains an optimal solution from every state from which a goal
+     * state is reachable, repeated until the batch contains the number of solutions specified}
+     * Every {@code detourInterval}th solution makes a move and its reverse first if possible,
+     * thus the solution is not optimal.
+     */
+    private static SolutionBatch generate(int size, int detourInterval) {
+        var tables = LookupTables.getInstance();
+        var solvable = IntStream.range(0, tables.getStateCount())
+                .filter(state -> tables.getDistance(state) > 0)
+                .toArray();
+        var batch = new SolutionBatch();
+        var moves = new int[tables.getMaxDistance() + 2];
+        for (var i = 0; i < size; i++) {
+            var state = solvable[i % solvable.length];
+            var length = 0;
+            if (i % detourInterval == 0) {
+                for (var direction : DIRECTIONS) {
+                    var successor = tables.getSuccessor(state, direction);
+                    var reverse = direction.getOpposite();
+                    if (successor != LookupTables.NONE && tables.getSuccessor(successor, reverse) == state) {
+                        moves[length++] = direction.ordinal();
+                        moves[length++] = reverse.ordinal();
+                        break;
+                    }
+                }
+            }
+            var initial = state;
+            while (tables.getDistance(state) > 0) {
+                for (var direction : DIRECTIONS) {
+                    var successor = tables.getSuccessor(state, direction);
+                    if (successor != LookupTables.NONE && tables.getDistance(successor) == tables.getDistance(state) - 1) {
+                        moves[length++] = direction.ordinal();
+                        state = successor;
+                        break;
+                    }
+                }
+            }
+            batch.add(initial, moves, length);
+        }
+        return batch;
+    }
+
+    public static void main(String[] args) {
+        var size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        var batch = generate(size, 10);
+        System.out.printf("Generated %d solutions (%d KiB)%n", batch.size(), batch.getMemoryUsage() / 1024);
+        for (var round = 0; round < 3; round++) {
+            System.out.println("sequential " + new SolutionVerifier(false).verify(batch));
+            System.out.println("parallel   " + new SolutionVerifier(true).verify(batch));
+        }
+    }
+
+}
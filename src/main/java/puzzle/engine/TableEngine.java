@@ -0,0 +1,53 @@
+package puzzle.engine;
+
+import puzzle.state.Direction;
+import puzzle.tables.LookupTables;
+
+/**
+ * The move engine that looks up the transitions in the build-time generated {@link LookupTables}.
+ */
+public class TableEngine implements MoveEngine {
+
+    private final LookupTables tables = LookupTables.getInstance();
+
+    @Override
+    public String getName() {
+        return "table";
+    }
+
+    @Override
+    public int getStateCount() {
+        return tables.getStateCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The tables do not record the validity of states, thus it is decided by {@link PackedEngine}.
+     */
+    @Override
+    public boolean isValid(long state) {
+        return PackedEngine.isValidState(state);
+    }
+
+    @Override
+    public boolean isGoal(long state) {
+        return tables.getDistance((int) state) == 0;
+    }
+
+    @Override
+    public int getLegalMoves(long state) {
+        var legalMoves = 0;
+        for (var direction : Direction.values()) {
+            if (tables.getSuccessor((int) state, direction) != LookupTables.NONE) {
+                legalMoves |= 1 << direction.ordinal();
+            }
+        }
+        return legalMoves;
+    }
+
+    @Override
+    public long move(long state, Direction direction) {
+        return tables.getSuccessor((int) state, direction);
+    }
+
+}
@@ -0,0 +1,67 @@
+package puzzle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records the expansion of a layer of a breadth-first search.
+ */
+@Name("puzzle.LayerExpansion")
+@Label("Layer Expansion")
+@Description("The expansion of a layer of a breadth-first search")
+@Category("Sliding Puzzle")
+@StackTrace(false)
+public class LayerExpansionEvent extends Event {
+
+    @Label("Algorithm")
+    private String algorithm;
+
+    @Label("Depth")
+    private int depth;
+
+    @Label("Layer Size")
+    @Description("The number of states in the layer")
+    private long layerSize;
+
+    @Label("Successors")
+    @Description("The number of successors generated, including duplicates")
+    private long successors;
+
+    @Label("New States")
+    @Description("The number of states of the next layer")
+    private long newStates;
+
+    /**
+     * Creates a {@code LayerExpansionEvent} object and starts its timing.
+     *
+     * @param algorithm the name of the search algorithm
+     * @param depth the depth of the layer
+     * @param layerSize the number of states in the layer
+     */
+    public LayerExpansionEvent(String algorithm, int depth, long layerSize) {
+        this.algorithm = algorithm;
+        this.depth = depth;
+        this.layerSize = layerSize;
+        begin();
+    }
+
+    /**
+     * Ends the timing of the event and commits it if it is enabled.
+     *
+     * @param successors the number of successors generated, including duplicates
+     * @param newStates the number of states of the next layer
+     */
+    public void finish(long successors, long newStates) {
+        end();
+        if (shouldCommit()) {
+            this.successors = successors;
+            this.newStates = newStates;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package puzzle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records a search from its start to its end.
+ * <p>
+ * Create the event when the search starts and call {@link #finish(Object, int, long)} when it ends.
+ * The start state is converted to a string only if the event is recorded.
+ */
+@Name("puzzle.Search")
+@Label("Search")
+@Description("A search for a solution of the puzzle")
+@Category("Sliding Puzzle")
+@StackTrace(false)
+public class SearchEvent extends Event {
+
+    @Label("Algorithm")
+    private String algorithm;
+
+    @Label("Start State")
+    private String startState;
+
+    @Label("Depth")
+    @Description("The length of the solution found, or -1 if no solution has been found")
+    private int depth;
+
+    @Label("Nodes Expanded")
+    private long nodesExpanded;
+
+    /**
+     * Creates a {@code SearchEvent} object and starts its timing.
+     *
+     * @param algorithm the name of the search algorithm
+     */
+    public SearchEvent(String algorithm) {
+        this.algorithm = algorithm;
+        begin();
+    }
+
+    /**
+     * Ends the timing of the event and commits it if it is enabled.
+     *
+     * @param startState the initial state of the search
+     * @param depth the length of the solution found, or {@code -1} if no solution has been found
+     * @param nodesExpanded the number of nodes expanded
+     */
+    public void finish(Object startState, int depth, long nodesExpanded) {
+        end();
+        if (shouldCommit()) {
+            this.startState = String.valueOf(startState);
+            this.depth = depth;
+            this.nodesExpanded = nodesExpanded;
+            commit();
+        }
+    }
+
+}
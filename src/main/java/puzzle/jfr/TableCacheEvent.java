@@ -0,0 +1,42 @@
+package puzzle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records an access to cached lookup tables.
+ */
+@Name("puzzle.TableCache")
+@Label("Table Cache")
+@Description("An access to cached lookup tables")
+@Category("Sliding Puzzle")
+@StackTrace(false)
+public class TableCacheEvent extends Event {
+
+    @Label("Table")
+    private String table;
+
+    @Label("Hit")
+    @Description("Whether the tables had already been loaded")
+    private boolean hit;
+
+    /**
+     * Commits an event if it is enabled.
+     *
+     * @param table the name of the tables
+     * @param hit whether the tables had already been loaded
+     */
+    public static void record(String table, boolean hit) {
+        var event = new TableCacheEvent();
+        if (event.shouldCommit()) {
+            event.table = table;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package puzzle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Records the loading of lookup tables.
+ */
+@Name("puzzle.TableLoad")
+@Label("Table Load")
+@Description("The loading of lookup tables from a resource")
+@Category("Sliding Puzzle")
+public class TableLoadEvent extends Event {
+
+    @Label("Resource")
+    private String resource;
+
+    @Label("Size")
+    @Description("The size of the uncompressed tables")
+    @DataAmount
+    private long size;
+
+    /**
+     * Creates a {@code TableLoadEvent} object and starts its timing.
+     *
+     * @param resource the name of the resource
+     */
+    public TableLoadEvent(String resource) {
+        this.resource = resource;
+        begin();
+    }
+
+    /**
+     * Ends the timing of the event and commits it if it is enabled.
+     *
+     * @param size the size of the uncompressed tables in bytes
+     */
+    public void finish(long size) {
+        end();
+        if (shouldCommit()) {
+            this.size = size;
+            commit();
+        }
+    }
+
+}
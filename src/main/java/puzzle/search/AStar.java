@@ -0,0 +1,160 @@
+package puzzle.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+
+/**
+ * A* search, finds a solution with the minimum number of actions provided that the
+ * heuristic of the problem never overestimates the number of actions needed.
+ */
+public class AStar {
+
+    /**
+     * {@return a solution of the problem specified with the minimum number of actions,
+     * or {@code null} if the problem has no solution}
+     *
+     * @param problem a search problem with an admissible heuristic
+     * @param <S> the type of the states
+     */
+    public <S> Solution<S> search(SearchProblem<S> problem) {
+        return search(problem, SearchLimits.NONE).solution();
+    }
+
+    /**
+     * {@return the result of searching a solution of the problem specified with the
+     * minimum number of actions within the limits specified}
+     *
+     * @param problem a search problem with an admissible heuristic
+     * @param limits the limits of the search
+     * @param <S> the type of the states
+     */
+    public <S> SearchResult<Solution<S>> search(SearchProblem<S> problem, SearchLimits limits) {
+        var root = new SearchNode<>(problem.getInitialState(), null, -1, 0);
+        var monitor = new SearchMonitor("AStar", root.state(), limits);
+        var open = new PriorityQueue<SearchNode<S>>(Comparator.comparingInt(
+                (SearchNode<S> node) -> node.cost() + problem.getHeuristic(node.state())));
+        var costs = new HashMap<S, Integer>();
+        open.add(root);
+        costs.put(root.state(), 0);
+        monitor.visited();
+        while (! open.isEmpty()) {
+            var status = monitor.check();
+            if (status != null) {
+                return monitor.unsolved(status);
+            }
+            var selected = open.remove();
+            if (selected.cost() > costs.get(selected.state())) {
+                continue; // a cheaper path to the state has been found since the node was added
+            }
+            if (problem.isGoal(selected.state())) {
+                return monitor.solved(selected.toSolution(), selected.cost());
+            }
+            monitor.expanded();
+            monitor.setDepth(selected.cost() + problem.getHeuristic(selected.state()));
+            for (var action = 0; action < problem.getActionCount(); action++) {
+                var successor = problem.getSuccessor(selected.state(), action);
+                if (successor == null) {
+                    continue;
+                }
+                var cost = selected.cost() + 1;
+                var oldCost = costs.get(successor);
+                if (oldCost == null || cost < oldCost) {
+                    if (oldCost == null) {
+                        if (! monitor.visited()) {
+                            return monitor.unsolved(SearchResult.Status.STATE_LIMIT_REACHED);
+                        }
+                    }
+                    costs.put(successor, cost);
+                    open.add(new SearchNode<>(successor, selected, action, cost));
+                }
+            }
+        }
+        return monitor.unsolved(SearchResult.Status.NO_SOLUTION);
+    }
+
+    /**
+     * {@return a solution of the problem specified with the minimum number of actions,
+     * or {@code null} if the problem has no solution}
+     *
+     * @param problem a search problem with primitive states and an admissible heuristic
+     */
+    public LongSolution search(LongSearchProblem problem) {
+        return search(problem, SearchLimits.NONE).solution();
+    }
+
+    /**
+     * {@return the result of searching a solution of the problem specified with the
+     * minimum number of actions within the limits specified}
+     * The entries of the open list are the estimated costs and the indices of the states
+     * packed into {@code long} values.
+     *
+     * @param problem a search problem with primitive states and an admissible heuristic
+     * @param limits the limits of the search
+     */
+    public SearchResult<LongSolution> search(LongSearchProblem problem, SearchLimits limits) {
+        var initialState = problem.getInitialState();
+        var monitor = new SearchMonitor("AStar", initialState, limits);
+        var index = new LongIndex();
+        var parents = new int[64];
+        var actions = new byte[64];
+        var costs = new int[64];
+        var heuristics = new int[64];
+        var open = new LongHeap();
+        index.add(initialState);
+        monitor.visited();
+        parents[0] = -1;
+        heuristics[0] = problem.getHeuristic(initialState);
+        open.add((long) heuristics[0] << 32);
+        while (! open.isEmpty()) {
+            var status = monitor.check();
+            if (status != null) {
+                return monitor.unsolved(status);
+            }
+            var entry = open.remove();
+            var selected = (int) entry;
+            var estimate = (int) (entry >>> 32);
+            if (estimate != costs[selected] + heuristics[selected]) {
+                continue; // a cheaper path to the state has been found since the entry was added
+            }
+            var state = index.get(selected);
+            if (problem.isGoal(state)) {
+                return monitor.solved(SearchNode.toSolution(index, parents, actions, selected), costs[selected]);
+            }
+            monitor.expanded();
+            monitor.setDepth(estimate);
+            var cost = costs[selected] + 1;
+            for (var action = 0; action < problem.getActionCount(); action++) {
+                var successor = problem.getSuccessor(state, action);
+                if (successor == LongSearchProblem.NONE) {
+                    continue;
+                }
+                var i = index.add(successor);
+                if (i >= 0) {
+                    if (! monitor.visited()) {
+                        return monitor.unsolved(SearchResult.Status.STATE_LIMIT_REACHED);
+                    }
+                    if (i == parents.length) {
+                        parents = Arrays.copyOf(parents, 2 * i);
+                        actions = Arrays.copyOf(actions, 2 * i);
+                        costs = Arrays.copyOf(costs, 2 * i);
+                        heuristics = Arrays.copyOf(heuristics, 2 * i);
+                    }
+                    heuristics[i] = problem.getHeuristic(successor);
+                } else {
+                    i = -(i + 1);
+                    if (cost >= costs[i]) {
+                        continue;
+                    }
+                }
+                parents[i] = selected;
+                actions[i] = (byte) action;
+                costs[i] = cost;
+                open.add((long) (cost + heuristics[i]) << 32 | i);
+            }
+        }
+        return monitor.unsolved(SearchResult.Status.NO_SOLUTION);
+    }
+
+}
@@ -0,0 +1,113 @@
+package puzzle.search;
+
+/**
+ * An approximate {@link VisitedSet} using bitstate hashing (also known as supertrace).
+ * <p>
+ * The set is a Bloom filter: a state is represented by {@code k} bits of a fixed-size
+ * bit array, selected by {@code k} hash functions derived from two hashes of the state
+ * (double hashing), and a state is considered visited if all its bits are set. Memory
+ * usage does not depend on the number of states, but a new state is considered visited
+ * with probability {@code f^k}, where {@code f} is the fraction of the bits set, and
+ * the search omits the part of the search space reachable only through such states.
+ * For {@code n} states and {@code m} bits the fraction is about {@code 1 - e^(-kn/m)},
+ * that is minimized by {@code k = (m/n) ln 2}.
+ */
+public class BitstateVisitedSet implements VisitedSet {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private long bitsSet;
+    private long size;
+
+    /**
+     * Creates an empty {@code BitstateVisitedSet} object.
+     *
+     * @param memoryBytes the size of the bit array in bytes, rounded down to a multiple of eight
+     * @param hashCount the number of bits set for each state
+     * @throws IllegalArgumentException if the memory is less than eight bytes, too large
+     *         for a single array, or the number of bits is not positive
+     */
+    public BitstateVisitedSet(long memoryBytes, int hashCount) {
+        if (memoryBytes < Long.BYTES || memoryBytes / Long.BYTES > Integer.MAX_VALUE - 8 || hashCount < 1) {
+            throw new IllegalArgumentException();
+        }
+        bits = new long[(int) (memoryBytes / Long.BYTES)];
+        bitCount = (long) bits.length * Long.SIZE;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * {@return the estimated probability that a new state is considered visited
+     * after adding the number of distinct states specified}
+     *
+     * @param stateCount the number of distinct states
+     * @param memoryBytes the size of the bit array in bytes
+     * @param hashCount the number of bits set for each state
+     */
+    public static double estimateOmissionProbability(long stateCount, long memoryBytes, int hashCount) {
+        var bits = (double) (memoryBytes / Long.BYTES * Long.SIZE);
+        return Math.pow(-Math.expm1(-hashCount * (double) stateCount / bits), hashCount);
+    }
+
+    /**
+     * {@return the number of bits set for each state}
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    @Override
+    public boolean add(long state) {
+        var h1 = StateHashing.mix(state);
+        var h2 = StateHashing.mix(h1) | 1;
+        var added = false;
+        for (var i = 0; i < hashCount; i++) {
+            var bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            var word = (int) (bit >>> 6);
+            var mask = 1L << bit;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                bitsSet++;
+                added = true;
+            }
+        }
+        if (added) {
+            size++;
+        }
+        return added;
+    }
+
+    @Override
+    public boolean contains(long state) {
+        var h1 = StateHashing.mix(state);
+        var h2 = StateHashing.mix(h1) | 1;
+        for (var i = 0; i < hashCount; i++) {
+            var bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The probability is computed from the fraction of the bits currently set.
+     */
+    @Override
+    public double getOmissionProbability() {
+        return Math.pow((double) bitsSet / bitCount, hashCount);
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+}
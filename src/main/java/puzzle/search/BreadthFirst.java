@@ -0,0 +1,149 @@
+package puzzle.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Breadth-first search, finds a solution with the minimum number of actions.
+ */
+public class BreadthFirst {
+
+    /**
+     * {@return a solution of the problem specified with the minimum number of actions,
+     * or {@code null} if the problem has no solution}
+     *
+     * @param problem a search problem
+     * @param <S> the type of the states
+     */
+    public <S> Solution<S> search(SearchProblem<S> problem) {
+        return search(problem, SearchLimits.NONE).solution();
+    }
+
+    /**
+     * {@return the result of searching a solution of the problem specified with the
+     * minimum number of actions within the limits specified}
+     *
+     * @param problem a search problem
+     * @param limits the limits of the search
+     * @param <S> the type of the states
+     */
+    public <S> SearchResult<Solution<S>> search(SearchProblem<S> problem, SearchLimits limits) {
+        var root = new SearchNode<>(problem.getInitialState(), null, -1, 0);
+        var monitor = new SearchMonitor("BreadthFirst", root.state(), limits);
+        var open = new ArrayDeque<SearchNode<S>>();
+        var seen = new HashSet<S>();
+        open.add(root);
+        seen.add(root.state());
+        monitor.visited();
+        while (! open.isEmpty()) {
+            var status = monitor.check();
+            if (status != null) {
+                return monitor.unsolved(status);
+            }
+            var selected = open.removeFirst();
+            monitor.setDepth(Math.max(0, selected.cost() - 1));
+            if (problem.isGoal(selected.state())) {
+                return monitor.solved(selected.toSolution(), selected.cost());
+            }
+            monitor.expanded();
+            for (var action = 0; action < problem.getActionCount(); action++) {
+                var successor = problem.getSuccessor(selected.state(), action);
+                if (successor != null && seen.add(successor)) {
+                    if (! monitor.visited()) {
+                        return monitor.unsolved(SearchResult.Status.STATE_LIMIT_REACHED);
+                    }
+                    open.addLast(new SearchNode<>(successor, selected, action, selected.cost() + 1));
+                }
+            }
+        }
+        return monitor.unsolved(SearchResult.Status.NO_SOLUTION);
+    }
+
+    /**
+     * {@return a solution of the problem specified with the minimum number of actions,
+     * or {@code null} if the problem has no solution}
+     *
+     * @param problem a search problem with primitive states
+     */
+    public LongSolution search(LongSearchProblem problem) {
+        return search(problem, SearchLimits.NONE).solution();
+    }
+
+    /**
+     * {@return the result of searching a solution of the problem specified with the
+     * minimum number of actions within the limits specified}
+     *
+     * @param problem a search problem with primitive states
+     * @param limits the limits of the search
+     */
+    public SearchResult<LongSolution> search(LongSearchProblem problem, SearchLimits limits) {
+        return search(problem, limits, VisitedSet.exact());
+    }
+
+    /**
+     * {@return the result of searching a solution of the problem specified within the
+     * limits specified using the visited set specified for duplicate detection}
+     * States are numbered in the order they are reached, thus the open list is simply
+     * a range of the numbers, and the states, their parents and the actions are stored
+     * in arrays, about 13 bytes per state. The depth of a state is derived from the
+     * boundaries of the layers in this order. If the visited set is approximate, the
+     * solution may not have the minimum number of actions, and the status
+     * {@link SearchResult.Status#NO_SOLUTION} does not prove that there is no solution.
+     * An approximate set bounds only the memory used for duplicate detection, the
+     * arrays still grow with the number of states reached, thus the number of visited
+     * states should be limited as well to bound the total memory.
+     *
+     * @param problem a search problem with primitive states
+     * @param limits the limits of the search
+     * @param visited an empty visited set
+     */
+    public SearchResult<LongSolution> search(LongSearchProblem problem, SearchLimits limits, VisitedSet visited) {
+        var monitor = new SearchMonitor("BreadthFirst", problem.getInitialState(), limits);
+        var states = new long[64];
+        var parents = new int[64];
+        var actions = new byte[64];
+        var size = 1;
+        states[0] = problem.getInitialState();
+        visited.add(states[0]);
+        monitor.visited();
+        parents[0] = -1;
+        var depth = 0;
+        var layerEnd = 1;
+        for (var selected = 0; selected < size; selected++) {
+            var status = monitor.check();
+            if (status != null) {
+                return monitor.unsolved(status);
+            }
+            if (selected == layerEnd) {
+                depth++;
+                layerEnd = size;
+            }
+            monitor.setDepth(Math.max(0, depth - 1));
+            var state = states[selected];
+            if (problem.isGoal(state)) {
+                return monitor.solved(SearchNode.toSolution(states, parents, actions, selected), depth);
+            }
+            monitor.expanded();
+            for (var action = 0; action < problem.getActionCount(); action++) {
+                var successor = problem.getSuccessor(state, action);
+                if (successor != LongSearchProblem.NONE && visited.add(successor)) {
+                    if (! monitor.visited()) {
+                        return monitor.unsolved(SearchResult.Status.STATE_LIMIT_REACHED);
+                    }
+                    if (size == states.length) {
+                        states = Arrays.copyOf(states, 2 * size);
+                        parents = Arrays.copyOf(parents, 2 * size);
+                        actions = Arrays.copyOf(actions, 2 * size);
+                    }
+                    states[size] = successor;
+                    parents[size] = selected;
+                    actions[size] = (byte) action;
+                    size++;
+                }
+            }
+        }
+        return monitor.unsolved(SearchResult.Status.NO_SOLUTION);
+    }
+
+}
@@ -0,0 +1,24 @@
+package puzzle.search;
+
+/**
+ * Allows a search to be cancelled from another thread.
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    /**
+     * Requests the cancellation of the searches using this token.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * {@return whether the cancellation has been requested}
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+}
@@ -0,0 +1,60 @@
+package puzzle.search;
+
+/**
+ * An exact {@link VisitedSet} of the states below a bound with one bit per state.
+ */
+class DenseVisitedSet implements VisitedSet {
+
+    private final long[] bits;
+    private final long stateCount;
+    private long size;
+
+    DenseVisitedSet(long stateCount) {
+        if (stateCount < 0 || (stateCount + 63) / 64 > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException();
+        }
+        this.stateCount = stateCount;
+        bits = new long[(int) ((stateCount + 63) / 64)];
+    }
+
+    @Override
+    public boolean add(long state) {
+        checkState(state);
+        var word = (int) (state >>> 6);
+        var mask = 1L << state;
+        if ((bits[word] & mask) != 0) {
+            return false;
+        }
+        bits[word] |= mask;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(long state) {
+        checkState(state);
+        return (bits[(int) (state >>> 6)] & (1L << state)) != 0;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public double getOmissionProbability() {
+        return 0;
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    private void checkState(long state) {
+        if (state < 0 || state >= stateCount) {
+            throw new IllegalArgumentException("State out of range: " + state);
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package puzzle.search;
+
+/**
+ * An exact {@link VisitedSet} backed by a {@link LongIndex}.
+ */
+class ExactVisitedSet implements VisitedSet {
+
+    private final LongIndex index = new LongIndex();
+
+    @Override
+    public boolean add(long state) {
+        return index.add(state) >= 0;
+    }
+
+    @Override
+    public boolean contains(long state) {
+        return index.indexOf(state) >= 0;
+    }
+
+    @Override
+    public long size() {
+        return index.size();
+    }
+
+    @Override
+    public double getOmissionProbability() {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The hash table has at least twice as many slots as states, each slot holding a
+     * state and an index, and the states are also stored in the order of insertion.
+     */
+    @Override
+    public long getMemoryUsage() {
+        var slots = Long.highestOneBit(Math.max(32, 2 * index.size())) * 2;
+        return slots * (Long.BYTES + Integer.BYTES) + index.size() * Long.BYTES;
+    }
+
+}
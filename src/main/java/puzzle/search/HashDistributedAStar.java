@@ -0,0 +1,413 @@
+package puzzle.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hash-distributed parallel A* (HDA*), finds a solution with the minimum cost
+ * provided that the heuristic of the problem never overestimates the cost needed.
+ * <p>
+ * Each worker thread owns the states that hash to it, and keeps their costs, parents
+ * and its own open list. A worker expands its best state, keeps the successors it owns
+ * and sends the others to their owners through lock-free queues, that many workers
+ * can write and only the owner reads. A state is reopened whenever it is received
+ * with a smaller cost, thus the heuristic needs not be consistent.
+ * <p>
+ * The cost of the best solution found so far is shared by the workers. A worker is
+ * idle if its queue is empty and its open list contains no state whose estimated
+ * cost is smaller than that of the best solution. Termination is detected with a
+ * single counter of the active workers plus the messages sent but not yet processed:
+ * a message is counted before it is sent, and a worker stops being counted only when
+ * it becomes idle, thus the counter drops to zero exactly when all workers are idle
+ * and no message is in transit. At that point no open list contains a state that
+ * could lead to a cheaper solution, thus the best solution found is optimal.
+ * <p>
+ * The problem must support concurrent calls of its methods.
+ */
+public class HashDistributedAStar implements AutoCloseable {
+
+    private static final int SPINS_BEFORE_PARKING = 1_000;
+
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final long ROOT = -1;
+
+    private static final long MAX_ESTIMATE = Integer.MAX_VALUE;
+
+    /**
+     * Represents a state sent to its owner.
+     *
+     * @param state the state
+     * @param parent the state from which the state has been generated
+     * @param action the action that leads from the parent to the state
+     * @param cost the cost of the path to the state
+     */
+    private record Message(long state, long parent, int action, long cost) {
+    }
+
+    private final int threadCount;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a {@code HashDistributedAStar} object. The worker threads are pooled
+     * and reused by subsequent searches, they are daemon threads that terminate
+     * after being idle for a while or when this object is closed.
+     *
+     * @param threadCount the number of worker threads of a search
+     */
+    public HashDistributedAStar(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.threadCount = threadCount;
+        var threadNumber = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "HashDistributedAStar-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * {@return a solution of the problem specified with the minimum cost,
+     * or {@code null} if the problem has no solution}
+     *
+     * @param problem a thread-safe search problem with primitive states and an admissible heuristic
+     */
+    public LongSolution search(LongSearchProblem problem) {
+        return search(problem, SearchLimits.NONE).solution();
+    }
+
+    /**
+     * {@return the result of searching a solution of the problem specified with the
+     * minimum cost within the limits specified}
+     * The workers reserve each visited state against the limit of the visited states,
+     * thus the limit is never exceeded. The other limits are checked by a
+     * {@link SearchMonitor} in the calling thread about every millisecond.
+     *
+     * @param problem a thread-safe search problem with primitive states and an admissible heuristic
+     * @param limits the limits of the search
+     */
+    public SearchResult<LongSolution> search(LongSearchProblem problem, SearchLimits limits) {
+        var initialState = problem.getInitialState();
+        var monitor = new SearchMonitor("HashDistributedAStar", initialState, limits);
+        var search = new Search(problem, limits.maxVisitedStates());
+        search.send(search.getOwner(initialState), new Message(initialState, ROOT, -1, 0));
+        var futures = new ArrayList<Future<?>>();
+        try {
+            for (var i = 0; i < threadCount; i++) {
+                var worker = search.workers[i];
+                futures.add(executor.submit(() -> search.run(worker)));
+            }
+        } catch (RejectedExecutionException e) {
+            search.done = true;
+            throw new IllegalStateException("The search has been closed", e);
+        }
+        var status = await(search, futures, monitor);
+        if (search.failure != null) {
+            throw new IllegalStateException("A worker has failed", search.failure);
+        } else if (status != null) {
+            return monitor.unsolved(status);
+        } else if (search.goal == ROOT) {
+            return monitor.unsolved(SearchResult.Status.NO_SOLUTION);
+        }
+        var solution = search.buildSolution();
+        return monitor.solved(solution, solution.getLength());
+    }
+
+    /**
+     * Waits for the workers to terminate while checking the limits.
+     *
+     * @return the status with which the search has been aborted, or {@code null} if the workers have terminated
+     */
+    private static SearchResult.Status await(Search search, List<Future<?>> futures, SearchMonitor monitor) {
+        SearchResult.Status status = null;
+        var expanded = 0L;
+        var visited = 0L;
+        while (true) {
+            var done = search.done;
+            if (! done) {
+                LockSupport.parkNanos(POLL_NANOS);
+            }
+            var totalExpanded = search.nodesExpanded.sum();
+            var totalVisited = search.statesVisited.get();
+            monitor.add(totalExpanded - expanded, totalVisited - visited);
+            expanded = totalExpanded;
+            visited = totalVisited;
+            if (done) {
+                break;
+            }
+            status = monitor.poll();
+            if (status != null) {
+                search.done = true;
+            }
+        }
+        var interrupted = false;
+        for (var future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break; // the worker catches its failures, thus this is not expected
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (status == null && search.stateLimitReached) {
+            status = SearchResult.Status.STATE_LIMIT_REACHED;
+        }
+        monitor.add(search.nodesExpanded.sum() - expanded, search.statesVisited.get() - visited);
+        return status;
+    }
+
+    /**
+     * Stops the worker threads after the running searches have finished.
+     * Subsequent searches throw an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * The state of a worker. Its fields are accessed only by its thread, except for the
+     * queue, and are read by the calling thread after the worker thread has terminated.
+     */
+    private static class Worker {
+
+        private final ConcurrentLinkedQueue<Message> queue = new ConcurrentLinkedQueue<>();
+        private final LongIndex index = new LongIndex();
+        private final LongHeap open = new LongHeap();
+        private long[] parents = new long[64];
+        private byte[] actions = new byte[64];
+        private long[] costs = new long[64];
+        private int[] heuristics = new int[64];
+
+    }
+
+    /**
+     * The data shared by the workers of a search.
+     */
+    private class Search {
+
+        private final LongSearchProblem problem;
+        private final Worker[] workers = new Worker[threadCount];
+        private final AtomicLong work = new AtomicLong(threadCount);
+        private final LongAdder nodesExpanded = new LongAdder();
+        private final AtomicLong statesVisited = new AtomicLong();
+        private final long maxVisitedStates;
+        private volatile boolean stateLimitReached;
+        private volatile boolean done;
+        private volatile long bestCost = Long.MAX_VALUE;
+        private long goal = ROOT;
+        private volatile Throwable failure;
+
+        Search(LongSearchProblem problem, long maxVisitedStates) {
+            this.problem = problem;
+            this.maxVisitedStates = maxVisitedStates;
+            for (var i = 0; i < threadCount; i++) {
+                workers[i] = new Worker();
+            }
+        }
+
+        int getOwner(long state) {
+            return StateHashing.getPartition(state, threadCount);
+        }
+
+        void send(int owner, Message message) {
+            work.incrementAndGet();
+            workers[owner].queue.add(message);
+        }
+
+        synchronized void offerSolution(long state, long cost) {
+            if (cost < bestCost) {
+                goal = state;
+                bestCost = cost;
+            }
+        }
+
+        void run(Worker worker) {
+            try {
+                while (! done) {
+                    for (Message message; (message = worker.queue.poll()) != null; ) {
+                        receive(worker, message);
+                        work.decrementAndGet();
+                    }
+                    if (! expand(worker) && ! idle(worker)) {
+                        return;
+                    }
+                }
+            } catch (Throwable e) {
+                failure = e;
+                done = true;
+            }
+        }
+
+        /**
+         * Waits until the worker receives a message.
+         *
+         * @return whether the worker has received a message, otherwise the search is over
+         */
+        private boolean idle(Worker worker) {
+            if (work.decrementAndGet() == 0) {
+                done = true;
+                return false;
+            }
+            for (var spins = 0; ! done; spins++) {
+                if (! worker.queue.isEmpty()) {
+                    work.incrementAndGet(); // the pending message keeps the counter positive
+                    return true;
+                }
+                if (spins < SPINS_BEFORE_PARKING) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Counts a new state unless the limit of the visited states has been reached,
+         * otherwise ends the search.
+         *
+         * @return whether the state can be visited
+         */
+        private boolean visit() {
+            if (statesVisited.incrementAndGet() <= maxVisitedStates) {
+                return true;
+            }
+            statesVisited.decrementAndGet();
+            stateLimitReached = true;
+            done = true;
+            return false;
+        }
+
+        private void receive(Worker worker, Message message) {
+            var i = worker.index.add(message.state());
+            if (i >= 0) {
+                if (! visit()) {
+                    return;
+                }
+                if (i == worker.parents.length) {
+                    worker.parents = Arrays.copyOf(worker.parents, 2 * i);
+                    worker.actions = Arrays.copyOf(worker.actions, 2 * i);
+                    worker.costs = Arrays.copyOf(worker.costs, 2 * i);
+                    worker.heuristics = Arrays.copyOf(worker.heuristics, 2 * i);
+                }
+                worker.heuristics[i] = problem.getHeuristic(message.state());
+            } else {
+                i = -(i + 1);
+                if (message.cost() >= worker.costs[i]) {
+                    return;
+                }
+            }
+            worker.parents[i] = message.parent();
+            worker.actions[i] = (byte) message.action();
+            worker.costs[i] = message.cost();
+            worker.open.add(toEntry(message.cost() + worker.heuristics[i], i));
+        }
+
+        /**
+         * Expands the best state of the worker if its estimated cost is smaller than the best solution.
+         *
+         * @return whether a state has been selected
+         */
+        private boolean expand(Worker worker) {
+            while (! worker.open.isEmpty()) {
+                var entry = worker.open.peek();
+                var estimate = entry >>> 32;
+                if (estimate >= bestCost) {
+                    return false;
+                }
+                worker.open.remove();
+                var selected = (int) entry;
+                if (estimate != Math.min(worker.costs[selected] + worker.heuristics[selected], MAX_ESTIMATE)) {
+                    continue; // a cheaper path to the state has been found since the entry was added
+                }
+                var state = worker.index.get(selected);
+                var cost = worker.costs[selected];
+                if (problem.isGoal(state)) {
+                    offerSolution(state, cost);
+                    return true;
+                }
+                nodesExpanded.increment();
+                for (var action = 0; action < problem.getActionCount(); action++) {
+                    var successor = problem.getSuccessor(state, action);
+                    if (successor == LongSearchProblem.NONE) {
+                        continue;
+                    }
+                    var successorCost = cost + problem.getCost(state, action);
+                    if (successorCost + problem.getHeuristic(successor) >= bestCost) {
+                        continue;
+                    }
+                    var message = new Message(successor, state, action, successorCost);
+                    var owner = getOwner(successor);
+                    if (workers[owner] == worker) {
+                        receive(worker, message);
+                    } else {
+                        send(owner, message);
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+
+        LongSolution buildSolution() {
+            var states = new long[16];
+            var actions = new int[16];
+            var length = 0;
+            var state = goal;
+            while (true) {
+                var worker = workers[getOwner(state)];
+                var i = worker.index.indexOf(state);
+                if (length == states.length) {
+                    states = Arrays.copyOf(states, 2 * length);
+                    actions = Arrays.copyOf(actions, 2 * length);
+                }
+                states[length] = state;
+                actions[length] = worker.actions[i];
+                length++;
+                if (worker.parents[i] == ROOT) {
+                    break;
+                }
+                state = worker.parents[i];
+            }
+            var pathStates = new long[length];
+            var pathActions = new int[length - 1];
+            for (var i = 0; i < length; i++) {
+                pathStates[i] = states[length - 1 - i];
+                if (i > 0) {
+                    pathActions[i - 1] = actions[length - 1 - i];
+                }
+            }
+            return new LongSolution(pathStates, pathActions);
+        }
+
+    }
+
+    private static long toEntry(long estimate, int index) {
+        return Math.min(estimate, MAX_ESTIMATE) << 32 | index;
+    }
+
+}
@@ -0,0 +1,237 @@
+package puzzle.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Iterative deepening A* search, finds a solution with the minimum number of actions
+ * provided that the heuristic of the problem never overestimates the number of actions
+ * needed. Only the current path is stored, and cycles are avoided only along that path,
+ * thus the running time can be exponential in the length of the solution.
+ */
+public class IterativeDeepeningAStar {
+
+    private static final int FOUND = -1;
+
+    private static final int ABORTED = -2;
+
+    /**
+     * The data of a running search, thus an object can run several searches concurrently.
+     */
+    private static class Context {
+
+        private final SearchMonitor monitor;
+        private SearchResult.Status abortStatus;
+
+        Context(SearchMonitor monitor) {
+            this.monitor = monitor;
+        }
+
+        /**
+         * {@return whether the search must be aborted, the status is stored in {@link #abortStatus}}
+         */
+        boolean check() {
+            abortStatus = monitor.check();
+            return abortStatus != null;
+        }
+
+        /**
+         * {@return whether the search must be aborted because the limit of the visited states has been reached}
+         */
+        boolean visitFails() {
+            if (monitor.visited()) {
+                return false;
+            }
+            abortStatus = SearchResult.Status.STATE_LIMIT_REACHED;
+            return true;
+        }
+
+    }
+
+    /**
+     * {@return a solution of the problem specified with the minimum number of actions,
+     * or {@code null} if the problem has no solution}
+     *
+     * @param problem a search problem with an admissible heuristic
+     * @param <S> the type of the states
+     */
+    public <S> Solution<S> search(SearchProblem<S> problem) {
+        return search(problem, SearchLimits.NONE).solution();
+    }
+
+    /**
+     * {@return the result of searching a solution of the problem specified with the
+     * minimum number of actions within the limits specified}
+     * Since states are not stored, the number of visited states is the number of
+     * nodes generated.
+     *
+     * @param problem a search problem with an admissible heuristic
+     * @param limits the limits of the search
+     * @param <S> the type of the states
+     */
+    public <S> SearchResult<Solution<S>> search(SearchProblem<S> problem, SearchLimits limits) {
+        var states = new ArrayList<S>();
+        var actions = new ArrayList<Integer>();
+        states.add(problem.getInitialState());
+        var monitor = new SearchMonitor("IterativeDeepeningAStar", states.get(0), limits);
+        var context = new Context(monitor);
+        var bound = problem.getHeuristic(states.get(0));
+        while (true) {
+            var next = search(problem, context, states, actions, bound);
+            if (next == FOUND) {
+                return monitor.solved(new Solution<>(states, actions.stream().mapToInt(Integer::intValue).toArray()),
+                        actions.size());
+            }
+            if (next == ABORTED) {
+                return monitor.unsolved(context.abortStatus);
+            }
+            if (next == Integer.MAX_VALUE) {
+                return monitor.unsolved(SearchResult.Status.NO_SOLUTION);
+            }
+            monitor.setDepth(bound);
+            bound = next;
+        }
+    }
+
+    /**
+     * Searches the subtree below the last state of the path within the bound specified.
+     *
+     * @return {@link #FOUND} if a goal state has been reached, {@link #ABORTED} if a limit
+     *         has been reached, otherwise the minimum estimated cost exceeding the bound
+     */
+    private <S> int search(SearchProblem<S> problem, Context context, List<S> states, List<Integer> actions,
+                           int bound) {
+        var state = states.get(states.size() - 1);
+        var estimate = actions.size() + problem.getHeuristic(state);
+        if (estimate > bound) {
+            return estimate;
+        }
+        if (problem.isGoal(state)) {
+            return FOUND;
+        }
+        if (context.check()) {
+            return ABORTED;
+        }
+        context.monitor.expanded();
+        var min = Integer.MAX_VALUE;
+        for (var action = 0; action < problem.getActionCount(); action++) {
+            var successor = problem.getSuccessor(state, action);
+            if (successor == null || states.contains(successor)) {
+                continue;
+            }
+            if (context.visitFails()) {
+                return ABORTED;
+            }
+            states.add(successor);
+            actions.add(action);
+            var result = search(problem, context, states, actions, bound);
+            if (result == FOUND || result == ABORTED) {
+                return result;
+            }
+            min = Math.min(min, result);
+            states.remove(states.size() - 1);
+            actions.remove(actions.size() - 1);
+        }
+        return min;
+    }
+
+    /**
+     * {@return a solution of the problem specified with the minimum number of actions,
+     * or {@code null} if the problem has no solution}
+     *
+     * @param problem a search problem with primitive states and an admissible heuristic
+     */
+    public LongSolution search(LongSearchProblem problem) {
+        return search(problem, SearchLimits.NONE).solution();
+    }
+
+    /**
+     * {@return the result of searching a solution of the problem specified with the
+     * minimum number of actions within the limits specified}
+     * Since states are not stored, the number of visited states is the number of
+     * nodes generated.
+     *
+     * @param problem a search problem with primitive states and an admissible heuristic
+     * @param limits the limits of the search
+     */
+    public SearchResult<LongSolution> search(LongSearchProblem problem, SearchLimits limits) {
+        var path = new LongPath();
+        path.states[0] = problem.getInitialState();
+        var monitor = new SearchMonitor("IterativeDeepeningAStar", path.states[0], limits);
+        var context = new Context(monitor);
+        var bound = problem.getHeuristic(path.states[0]);
+        while (true) {
+            var next = search(problem, context, path, 0, bound);
+            if (next == FOUND) {
+                return monitor.solved(new LongSolution(Arrays.copyOf(path.states, path.length + 1),
+                        Arrays.copyOf(path.actions, path.length)), path.length);
+            }
+            if (next == ABORTED) {
+                return monitor.unsolved(context.abortStatus);
+            }
+            if (next == Integer.MAX_VALUE) {
+                return monitor.unsolved(SearchResult.Status.NO_SOLUTION);
+            }
+            monitor.setDepth(bound);
+            bound = next;
+        }
+    }
+
+    /**
+     * The current path of the primitive search, {@code states[0..length]} are the states of the path.
+     */
+    private static class LongPath {
+        private long[] states = new long[64];
+        private int[] actions = new int[64];
+        private int length;
+    }
+
+    private int search(LongSearchProblem problem, Context context, LongPath path, int depth, int bound) {
+        var state = path.states[depth];
+        var estimate = depth + problem.getHeuristic(state);
+        if (estimate > bound) {
+            return estimate;
+        }
+        if (problem.isGoal(state)) {
+            path.length = depth;
+            return FOUND;
+        }
+        if (context.check()) {
+            return ABORTED;
+        }
+        context.monitor.expanded();
+        if (depth + 1 == path.states.length) {
+            path.states = Arrays.copyOf(path.states, 2 * path.states.length);
+            path.actions = Arrays.copyOf(path.actions, 2 * path.actions.length);
+        }
+        var min = Integer.MAX_VALUE;
+        for (var action = 0; action < problem.getActionCount(); action++) {
+            var successor = problem.getSuccessor(state, action);
+            if (successor == LongSearchProblem.NONE || isOnPath(path, depth, successor)) {
+                continue;
+            }
+            if (context.visitFails()) {
+                return ABORTED;
+            }
+            path.states[depth + 1] = successor;
+            path.actions[depth] = action;
+            var result = search(problem, context, path, depth + 1, bound);
+            if (result == FOUND || result == ABORTED) {
+                return result;
+            }
+            min = Math.min(min, result);
+        }
+        return min;
+    }
+
+    private static boolean isOnPath(LongPath path, int depth, long state) {
+        for (var i = 0; i <= depth; i++) {
+            if (path.states[i] == state) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,65 @@
+package puzzle.search;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of {@code long} values.
+ */
+class LongHeap {
+
+    private long[] heap = new long[64];
+    private int size;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void add(long value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        var i = size++;
+        while (i > 0) {
+            var parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    /**
+     * {@return the smallest value}
+     */
+    long peek() {
+        return heap[0];
+    }
+
+    /**
+     * {@return the smallest value after removing it from the heap}
+     */
+    long remove() {
+        var result = heap[0];
+        var value = heap[--size];
+        var i = 0;
+        while (true) {
+            var child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (value <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+        return result;
+    }
+
+}
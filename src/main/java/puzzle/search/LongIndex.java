@@ -0,0 +1,107 @@
+package puzzle.search;
+
+import java.util.Arrays;
+
+/**
+ * Assigns consecutive indices to non-negative {@code long} values in the order they are added.
+ * The values are stored in an open addressing hash table, thus the search algorithms can keep
+ * per-state data in primitive arrays indexed by the index of the state.
+ */
+class LongIndex {
+
+    private static final long EMPTY = -1;
+
+    private long[] keys;
+    private int[] indices;
+    private long[] values;
+    private int size;
+
+    /**
+     * Creates an empty {@code LongIndex} object.
+     */
+    LongIndex() {
+        keys = new long[64];
+        Arrays.fill(keys, EMPTY);
+        indices = new int[64];
+        values = new long[32];
+    }
+
+    /**
+     * {@return the number of values}
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * {@return the value with the index specified}
+     *
+     * @param index the index of a value
+     */
+    long get(int index) {
+        return values[index];
+    }
+
+    /**
+     * {@return the index of the value specified, or {@code -1} if the value has not been added}
+     *
+     * @param value a non-negative value
+     */
+    int indexOf(long value) {
+        var mask = keys.length - 1;
+        for (var slot = hash(value) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == value) {
+                return indices[slot];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a value if it has not been added yet.
+     *
+     * @param value a non-negative value
+     * @return the index of the value if it has been added, or {@code -(index + 1)}
+     *         if the value had already been added
+     */
+    int add(long value) {
+        if (2 * (size + 1) > keys.length) {
+            rehash(keys.length * 2);
+        }
+        var mask = keys.length - 1;
+        var slot = hash(value) & mask;
+        for (; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == value) {
+                return -(indices[slot] + 1);
+            }
+        }
+        keys[slot] = value;
+        indices[slot] = size;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        return size++;
+    }
+
+    private void rehash(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        indices = new int[capacity];
+        var mask = capacity - 1;
+        for (var i = 0; i < size; i++) {
+            var slot = hash(values[i]) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = values[i];
+            indices[slot] = i;
+        }
+    }
+
+    private static int hash(long value) {
+        value *= 0x9e3779b97f4a7c15L;
+        return (int) (value ^ (value >>> 32));
+    }
+
+}
@@ -0,0 +1,63 @@
+package puzzle.search;
+
+/**
+ * Represents a state space search problem whose states are encoded as non-negative
+ * {@code long} values. This is the primitive specialization of {@link SearchProblem},
+ * the search algorithms solve such problems without boxing or allocating objects per state.
+ */
+public interface LongSearchProblem {
+
+    /**
+     * The value returned by {@link #getSuccessor(long, int)} for actions that are not applicable.
+     */
+    long NONE = -1;
+
+    /**
+     * {@return the initial state}
+     */
+    long getInitialState();
+
+    /**
+     * {@return the number of actions}
+     */
+    int getActionCount();
+
+    /**
+     * {@return the state resulting from applying the action specified to the state
+     * specified, or {@link #NONE} if the action is not applicable}
+     *
+     * @param state a state
+     * @param action the number of an action
+     */
+    long getSuccessor(long state, int action);
+
+    /**
+     * {@return whether the state specified is a goal state}
+     *
+     * @param state a state
+     */
+    boolean isGoal(long state);
+
+    /**
+     * {@return the non-negative cost of applying the action specified to the state specified}
+     * The action must be applicable to the state. The default implementation returns {@code 1},
+     * thus the cost of a path is the number of its actions.
+     *
+     * @param state a state
+     * @param action the number of an action
+     */
+    default int getCost(long state, int action) {
+        return 1;
+    }
+
+    /**
+     * {@return a lower bound on the number of actions needed to reach a goal state from the state specified}
+     * The default implementation returns {@code 0}.
+     *
+     * @param state a state
+     */
+    default int getHeuristic(long state) {
+        return 0;
+    }
+
+}
@@ -0,0 +1,33 @@
+package puzzle.search;
+
+/**
+ * Represents a path from the initial state to a goal state of a {@link LongSearchProblem}.
+ *
+ * @param states the states of the path, starting with the initial state
+ * @param actions the actions of the path, {@code actions[i]} leads from
+ *                {@code states[i]} to {@code states[i + 1]}
+ */
+public record LongSolution(long[] states, int[] actions) {
+
+    /**
+     * {@return the number of actions in the path}
+     */
+    public int getLength() {
+        return actions.length;
+    }
+
+    /**
+     * {@return the sum of the costs of the actions of the path}
+     *
+     * @param problem the problem the solution belongs to
+     * @see LongSearchProblem#getCost
+     */
+    public long getCost(LongSearchProblem problem) {
+        var cost = 0L;
+        for (var i = 0; i < actions.length; i++) {
+            cost += problem.getCost(states[i], actions[i]);
+        }
+        return cost;
+    }
+
+}
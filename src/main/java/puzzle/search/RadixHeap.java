@@ -0,0 +1,118 @@
+package puzzle.search;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone priority queue of {@code int} values with non-negative {@code long} keys.
+ * <p>
+ * The keys of the entries added must not be smaller than the key of the last entry
+ * removed, as is the case in Dijkstra's algorithm. An entry is stored in bucket
+ * {@code b}, where {@code b} is the number of significant bits of the bitwise
+ * exclusive or of its key and the last key removed. Bucket {@code 0} contains the
+ * entries with the last key removed. When bucket {@code 0} becomes empty, the
+ * smallest key of the first non-empty bucket becomes the last key removed, and the
+ * entries of that bucket are redistributed into lower buckets. Every entry moves
+ * to lower buckets only, thus the amortized cost of an operation is proportional
+ * to the number of bits of the keys without comparing entries with each other.
+ */
+class RadixHeap {
+
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+
+    private final long[][] keys = new long[BUCKET_COUNT][];
+    private final int[][] values = new int[BUCKET_COUNT][];
+    private final int[] sizes = new int[BUCKET_COUNT];
+    private long lastKey;
+    private int size;
+
+    RadixHeap() {
+        for (var i = 0; i < BUCKET_COUNT; i++) {
+            keys[i] = new long[4];
+            values[i] = new int[4];
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param key a key not smaller than the key of the last entry removed
+     * @param value the value of the entry
+     * @throws IllegalArgumentException if the key is smaller than the key of the last entry removed
+     */
+    void add(long key, int value) {
+        if (key < lastKey) {
+            throw new IllegalArgumentException();
+        }
+        put(getBucket(key), key, value);
+        size++;
+    }
+
+    /**
+     * {@return the smallest key, that is also the key of the entry removed last by {@link #remove()}}
+     *
+     * @throws NoSuchElementException if the heap is empty
+     */
+    long peekKey() {
+        pull();
+        return lastKey;
+    }
+
+    /**
+     * {@return the value of an entry with the smallest key after removing it from the heap}
+     *
+     * @throws NoSuchElementException if the heap is empty
+     */
+    int remove() {
+        pull();
+        size--;
+        return values[0][--sizes[0]];
+    }
+
+    /**
+     * Makes bucket {@code 0} non-empty.
+     */
+    private void pull() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        if (sizes[0] > 0) {
+            return;
+        }
+        var bucket = 1;
+        while (sizes[bucket] == 0) {
+            bucket++;
+        }
+        var bucketKeys = keys[bucket];
+        var bucketValues = values[bucket];
+        var bucketSize = sizes[bucket];
+        var min = bucketKeys[0];
+        for (var i = 1; i < bucketSize; i++) {
+            min = Math.min(min, bucketKeys[i]);
+        }
+        lastKey = min;
+        sizes[bucket] = 0;
+        for (var i = 0; i < bucketSize; i++) {
+            put(getBucket(bucketKeys[i]), bucketKeys[i], bucketValues[i]);
+        }
+    }
+
+    private int getBucket(long key) {
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ lastKey);
+    }
+
+    private void put(int bucket, long key, int value) {
+        var i = sizes[bucket]++;
+        if (i == keys[bucket].length) {
+            keys[bucket] = Arrays.copyOf(keys[bucket], 2 * i);
+            values[bucket] = Arrays.copyOf(values[bucket], 2 * i);
+        }
+        keys[bucket][i] = key;
+        values[bucket][i] = value;
+    }
+
+}
@@ -0,0 +1,52 @@
+package puzzle.search;
+
+import java.time.Duration;
+
+/**
+ * Represents the limits of a search.
+ *
+ * @param cancellationToken the token that cancels the search, or {@code null}
+ * @param timeout the maximum running time of the search, or {@code null} for no limit
+ * @param maxVisitedStates the maximum number of states the search may visit
+ */
+public record SearchLimits(CancellationToken cancellationToken, Duration timeout, long maxVisitedStates) {
+
+    /**
+     * No limits.
+     */
+    public static final SearchLimits NONE = new SearchLimits(null, null, Long.MAX_VALUE);
+
+    public SearchLimits {
+        if (maxVisitedStates < 1 || (timeout != null && timeout.isNegative())) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * {@return a copy of these limits with the cancellation token specified}
+     *
+     * @param cancellationToken the token that cancels the search
+     */
+    public SearchLimits withCancellationToken(CancellationToken cancellationToken) {
+        return new SearchLimits(cancellationToken, timeout, maxVisitedStates);
+    }
+
+    /**
+     * {@return a copy of these limits with the timeout specified}
+     *
+     * @param timeout the maximum running time of the search
+     */
+    public SearchLimits withTimeout(Duration timeout) {
+        return new SearchLimits(cancellationToken, timeout, maxVisitedStates);
+    }
+
+    /**
+     * {@return a copy of these limits with the maximum number of visited states specified}
+     *
+     * @param maxVisitedStates the maximum number of states the search may visit
+     */
+    public SearchLimits withMaxVisitedStates(long maxVisitedStates) {
+        return new SearchLimits(cancellationToken, timeout, maxVisitedStates);
+    }
+
+}
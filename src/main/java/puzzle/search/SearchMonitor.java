@@ -0,0 +1,166 @@
+package puzzle.search;
+
+import puzzle.jfr.SearchEvent;
+
+import java.time.Duration;
+
+/**
+ * Enforces the limits and collects the statistics of a running search.
+ * <p>
+ * A search calls {@link #check()} before expanding a node. The check reads the
+ * cancellation token every time, but reads the clock only at every
+ * {@value #CLOCK_INTERVAL}th call. The limit of the visited states is enforced by
+ * {@link #visited()} before a state is visited, thus a search never visits more
+ * states than the limit.
+ * A parallel search instead adds the counts of its workers and calls {@link #poll()}
+ * from a single thread at a low rate. The monitor also records the search in a
+ * {@link SearchEvent}.
+ */
+public class SearchMonitor {
+
+    private static final int CLOCK_INTERVAL = 1024;
+
+    private final SearchEvent event;
+    private final Object startState;
+    private final CancellationToken cancellationToken;
+    private final long maxVisitedStates;
+    private final long startTime;
+    private final long deadline;
+    private final boolean hasDeadline;
+    private int countdown = 1;
+    private long nodesExpanded;
+    private long statesVisited;
+    private boolean stateLimitReached;
+    private int depth;
+
+    /**
+     * Creates a {@code SearchMonitor} object, the timeout starts at its creation.
+     *
+     * @param algorithm the name of the search algorithm
+     * @param startState the initial state of the search
+     * @param limits the limits of the search
+     */
+    public SearchMonitor(String algorithm, Object startState, SearchLimits limits) {
+        event = new SearchEvent(algorithm);
+        this.startState = startState;
+        cancellationToken = limits.cancellationToken();
+        maxVisitedStates = limits.maxVisitedStates();
+        startTime = System.nanoTime();
+        hasDeadline = limits.timeout() != null;
+        deadline = hasDeadline ? startTime + saturatedNanos(limits.timeout()) : 0;
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 2;
+        }
+    }
+
+    /**
+     * {@return the status with which the search must be aborted, or {@code null} if the search can continue}
+     */
+    public SearchResult.Status check() {
+        return check(hasDeadline && --countdown == 0);
+    }
+
+    /**
+     * {@return the status with which the search must be aborted, or {@code null} if the search can continue}
+     * Unlike {@link #check()}, the clock is read at every call.
+     */
+    public SearchResult.Status poll() {
+        return check(hasDeadline);
+    }
+
+    private SearchResult.Status check(boolean readClock) {
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            return SearchResult.Status.CANCELLED;
+        }
+        if (stateLimitReached) {
+            return SearchResult.Status.STATE_LIMIT_REACHED;
+        }
+        if (readClock) {
+            countdown = CLOCK_INTERVAL;
+            if (System.nanoTime() - deadline >= 0) {
+                return SearchResult.Status.TIMED_OUT;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Increments the number of nodes expanded.
+     */
+    public void expanded() {
+        nodesExpanded++;
+    }
+
+    /**
+     * Increments the number of distinct states visited unless the limit has been reached.
+     * If the limit has been reached, the state must not be visited, and the search must
+     * be aborted with {@link SearchResult.Status#STATE_LIMIT_REACHED}, that subsequent
+     * checks return.
+     *
+     * @return whether the state can be visited
+     */
+    public boolean visited() {
+        if (statesVisited == maxVisitedStates) {
+            stateLimitReached = true;
+            return false;
+        }
+        statesVisited++;
+        return true;
+    }
+
+    /**
+     * Adds the numbers specified to the numbers of nodes expanded and distinct states visited.
+     * The caller is responsible for keeping the number of visited states within the limit.
+     *
+     * @param expanded the number of nodes expanded
+     * @param visited the number of distinct states visited
+     */
+    public void add(long expanded, long visited) {
+        nodesExpanded += expanded;
+        statesVisited += visited;
+    }
+
+    /**
+     * Sets the greatest depth or cost bound the search has completed.
+     *
+     * @param depth the depth
+     */
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * {@return the result of the search with the solution and its length specified}
+     *
+     * @param solution the solution found
+     * @param length the number of actions of the solution
+     * @param <T> the type of the solution
+     */
+    public <T> SearchResult<T> solved(T solution, int length) {
+        depth = length;
+        event.finish(startState, length, nodesExpanded);
+        return result(SearchResult.Status.SOLVED, solution);
+    }
+
+    /**
+     * {@return the result of the search ended without a solution with the status specified}
+     *
+     * @param status the status
+     * @param <T> the type of the solution
+     */
+    public <T> SearchResult<T> unsolved(SearchResult.Status status) {
+        event.finish(startState, -1, nodesExpanded);
+        return result(status, null);
+    }
+
+    private <T> SearchResult<T> result(SearchResult.Status status, T solution) {
+        return new SearchResult<>(status, solution, nodesExpanded, statesVisited, depth,
+                Duration.ofNanos(System.nanoTime() - startTime));
+    }
+
+}
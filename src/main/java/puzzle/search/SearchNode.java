@@ -0,0 +1,102 @@
+package puzzle.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Represents a node of a search tree for a {@link SearchProblem}.
+ *
+ * @param state the state of the node
+ * @param parent the parent of the node, or {@code null} for the root
+ * @param action the action that leads from the state of the parent to the state of the node
+ * @param cost the number of actions from the root
+ * @param <S> the type of the states
+ */
+record SearchNode<S>(S state, SearchNode<S> parent, int action, int cost) {
+
+    /**
+     * {@return the path from the root to this node}
+     */
+    Solution<S> toSolution() {
+        var states = new ArrayList<S>();
+        var actions = new int[cost];
+        for (var node = this; node != null; node = node.parent) {
+            states.add(node.state);
+            if (node.parent != null) {
+                actions[node.cost - 1] = node.action;
+            }
+        }
+        Collections.reverse(states);
+        return new Solution<>(states, actions);
+    }
+
+    /**
+     * {@return the path to the state with the index specified in the tree
+     * represented by the list and the arrays specified}
+     *
+     * @param states the states of the tree
+     * @param parents the index of the parent of each state, or {@code -1} for the root
+     * @param actions the action that leads from the parent to each state
+     * @param goal the index of the last state of the path
+     * @param <S> the type of the states
+     */
+    static <S> Solution<S> toSolution(List<S> states, int[] parents, byte[] actions, int goal) {
+        var pathStates = new ArrayList<S>();
+        var pathActions = new ArrayList<Integer>();
+        for (var i = goal; i >= 0; i = parents[i]) {
+            pathStates.add(states.get(i));
+            if (parents[i] >= 0) {
+                pathActions.add((int) actions[i]);
+            }
+        }
+        Collections.reverse(pathStates);
+        Collections.reverse(pathActions);
+        return new Solution<>(pathStates, pathActions.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * {@return the path to the state with the index specified in the tree
+     * represented by the arrays specified}
+     *
+     * @param index the states of the tree
+     * @param parents the index of the parent of each state, or {@code -1} for the root
+     * @param actions the action that leads from the parent to each state
+     * @param goal the index of the last state of the path
+     */
+    static LongSolution toSolution(LongIndex index, int[] parents, byte[] actions, int goal) {
+        return toSolution(index::get, parents, actions, goal);
+    }
+
+    /**
+     * {@return the path to the state with the index specified in the tree
+     * represented by the arrays specified}
+     *
+     * @param states the states of the tree
+     * @param parents the index of the parent of each state, or {@code -1} for the root
+     * @param actions the action that leads from the parent to each state
+     * @param goal the index of the last state of the path
+     */
+    static LongSolution toSolution(long[] states, int[] parents, byte[] actions, int goal) {
+        return toSolution(i -> states[i], parents, actions, goal);
+    }
+
+    private static LongSolution toSolution(IntToLongFunction states, int[] parents, byte[] actions, int goal) {
+        var length = 0;
+        for (var i = goal; parents[i] >= 0; i = parents[i]) {
+            length++;
+        }
+        var pathStates = new long[length + 1];
+        var pathActions = new int[length];
+        for (var i = goal; length >= 0; i = parents[i]) {
+            pathStates[length] = states.applyAsLong(i);
+            if (length > 0) {
+                pathActions[length - 1] = actions[i];
+            }
+            length--;
+        }
+        return new LongSolution(pathStates, pathActions);
+    }
+
+}
@@ -0,0 +1,61 @@
+package puzzle.search;
+
+/**
+ * Represents a state space search problem.
+ * Actions are identified by the numbers {@code 0}, {@code 1}, ..., {@code getActionCount() - 1}.
+ * States must implement {@link Object#equals(Object)} and {@link Object#hashCode()} consistently,
+ * and must not be modified by the search algorithms or by the problem.
+ *
+ * @param <S> the type of the states
+ */
+public interface SearchProblem<S> {
+
+    /**
+     * {@return the initial state}
+     */
+    S getInitialState();
+
+    /**
+     * {@return the number of actions}
+     */
+    int getActionCount();
+
+    /**
+     * {@return the state resulting from applying the action specified to the state
+     * specified, or {@code null} if the action is not applicable}
+     *
+     * @param state a state
+     * @param action the number of an action
+     */
+    S getSuccessor(S state, int action);
+
+    /**
+     * {@return whether the state specified is a goal state}
+     *
+     * @param state a state
+     */
+    boolean isGoal(S state);
+
+    /**
+     * {@return the non-negative cost of applying the action specified to the state specified}
+     * The action must be applicable to the state. The default implementation returns {@code 1},
+     * thus the cost of a path is the number of its actions.
+     *
+     * @param state a state
+     * @param action the number of an action
+     */
+    default int getCost(S state, int action) {
+        return 1;
+    }
+
+    /**
+     * {@return a lower bound on the number of actions needed to reach a goal state from the state specified}
+     * The default implementation returns {@code 0}.
+     *
+     * @param state a state
+     */
+    default int getHeuristic(S state) {
+        return 0;
+    }
+
+}
@@ -0,0 +1,66 @@
+package puzzle.search;
+
+import java.time.Duration;
+
+/**
+ * Represents the outcome of a search together with its statistics.
+ *
+ * @param status the way the search has ended
+ * @param solution the solution found, or {@code null} if the status is not {@link Status#SOLVED}
+ * @param nodesExpanded the number of nodes expanded
+ * @param statesVisited the number of distinct states visited
+ * @param depth the length of the solution if one has been found, otherwise the
+ *              greatest depth (or cost bound) the search has completed
+ * @param elapsed the running time of the search
+ * @param <T> the type of the solution
+ */
+public record SearchResult<T>(Status status, T solution, long nodesExpanded, long statesVisited, int depth,
+                              Duration elapsed) {
+
+    /**
+     * The ways a search can end.
+     */
+    public enum Status {
+
+        /**
+         * A solution has been found.
+         */
+        SOLVED,
+
+        /**
+         * The search space has been exhausted without finding a solution.
+         */
+        NO_SOLUTION,
+
+        /**
+         * The search has been cancelled by its cancellation token.
+         */
+        CANCELLED,
+
+        /**
+         * The timeout of the search has elapsed.
+         */
+        TIMED_OUT,
+
+        /**
+         * The search has reached the maximum number of visited states.
+         */
+        STATE_LIMIT_REACHED;
+
+        /**
+         * {@return whether the search has been stopped before it could decide whether there is a solution}
+         */
+        public boolean isAborted() {
+            return this != SOLVED && this != NO_SOLUTION;
+        }
+
+    }
+
+    /**
+     * {@return whether the search has been stopped before it could decide whether there is a solution}
+     */
+    public boolean isAborted() {
+        return status.isAborted();
+    }
+
+}
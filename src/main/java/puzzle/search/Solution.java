@@ -0,0 +1,36 @@
+package puzzle.search;
+
+import java.util.List;
+
+/**
+ * Represents a path from the initial state to a goal state.
+ *
+ * @param states the states of the path, starting with the initial state
+ * @param actions the actions of the path, {@code actions[i]} leads from
+ *                {@code states.get(i)} to {@code states.get(i + 1)}
+ * @param <S> the type of the states
+ */
+public record Solution<S>(List<S> states, int[] actions) {
+
+    /**
+     * {@return the number of actions in the path}
+     */
+    public int getLength() {
+        return actions.length;
+    }
+
+    /**
+     * {@return the sum of the costs of the actions of the path}
+     *
+     * @param problem the problem the solution belongs to
+     * @see SearchProblem#getCost
+     */
+    public long getCost(SearchProblem<S> problem) {
+        var cost = 0L;
+        for (var i = 0; i < actions.length; i++) {
+            cost += problem.getCost(states.get(i), actions[i]);
+        }
+        return cost;
+    }
+
+}
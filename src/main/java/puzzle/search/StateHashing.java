@@ -0,0 +1,38 @@
+package puzzle.search;
+
+/**
+ * Hash functions for states encoded as {@code long} values.
+ * Consecutive encodings are often similar, thus they are mixed before they are
+ * used to spread states among partitions or bits.
+ */
+public final class StateHashing {
+
+    private StateHashing() {
+    }
+
+    /**
+     * {@return the finalization step of MurmurHash3 applied to the value specified}
+     * Every bit of the value affects every bit of the result.
+     *
+     * @param value a value
+     */
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * {@return the partition to which the state specified is assigned}
+     *
+     * @param state a state
+     * @param partitionCount the number of partitions
+     */
+    public static int getPartition(long state, int partitionCount) {
+        return (int) Long.remainderUnsigned(mix(state), partitionCount);
+    }
+
+}
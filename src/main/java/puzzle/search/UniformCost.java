@@ -0,0 +1,196 @@
+package puzzle.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Uniform-cost search (Dijkstra's algorithm), finds a solution with the minimum sum of
+ * the costs of its actions (see {@link SearchProblem#getCost(Object, int)}).
+ * <p>
+ * States are selected in the order of non-decreasing path costs, thus the open list
+ * is a monotone priority queue. It is implemented as a radix heap, whose operations
+ * take amortized time proportional to the number of bits of the costs instead of the
+ * logarithm of the number of entries. Entries are not removed when a cheaper path to
+ * their state is found, but skipped when they are selected.
+ */
+public class UniformCost {
+
+    /**
+     * {@return a solution of the problem specified with the minimum cost,
+     * or {@code null} if the problem has no solution}
+     *
+     * @param problem a search problem with non-negative action costs
+     * @param <S> the type of the states
+     */
+    public <S> Solution<S> search(SearchProblem<S> problem) {
+        return search(problem, SearchLimits.NONE).solution();
+    }
+
+    /**
+     * {@return the result of searching a solution of the problem specified with the
+     * minimum cost within the limits specified}
+     * The depth of the result is the cost of the last state selected, capped at
+     * {@link Integer#MAX_VALUE}, or the number of actions of the solution.
+     *
+     * @param problem a search problem with non-negative action costs
+     * @param limits the limits of the search
+     * @param <S> the type of the states
+     * @throws IllegalArgumentException if the cost of an action is negative
+     */
+    public <S> SearchResult<Solution<S>> search(SearchProblem<S> problem, SearchLimits limits) {
+        var initialState = problem.getInitialState();
+        var monitor = new SearchMonitor("UniformCost", initialState, limits);
+        var indices = new HashMap<S, Integer>();
+        var states = new ArrayList<S>();
+        var parents = new int[64];
+        var actions = new byte[64];
+        var costs = new long[64];
+        var closed = new boolean[64];
+        var open = new RadixHeap();
+        indices.put(initialState, 0);
+        states.add(initialState);
+        monitor.visited();
+        parents[0] = -1;
+        open.add(0, 0);
+        while (! open.isEmpty()) {
+            var status = monitor.check();
+            if (status != null) {
+                return monitor.unsolved(status);
+            }
+            var cost = open.peekKey();
+            var selected = open.remove();
+            if (closed[selected] || cost != costs[selected]) {
+                continue; // the state has been reached with a smaller cost since the entry was added
+            }
+            closed[selected] = true;
+            monitor.setDepth((int) Math.min(cost, Integer.MAX_VALUE));
+            var state = states.get(selected);
+            if (problem.isGoal(state)) {
+                var solution = SearchNode.toSolution(states, parents, actions, selected);
+                return monitor.solved(solution, solution.getLength());
+            }
+            monitor.expanded();
+            for (var action = 0; action < problem.getActionCount(); action++) {
+                var successor = problem.getSuccessor(state, action);
+                if (successor == null) {
+                    continue;
+                }
+                var successorCost = cost + checkCost(problem.getCost(state, action));
+                var i = indices.get(successor);
+                if (i == null) {
+                    i = states.size();
+                    indices.put(successor, i);
+                    states.add(successor);
+                    if (! monitor.visited()) {
+                        return monitor.unsolved(SearchResult.Status.STATE_LIMIT_REACHED);
+                    }
+                    if (i == parents.length) {
+                        parents = Arrays.copyOf(parents, 2 * i);
+                        actions = Arrays.copyOf(actions, 2 * i);
+                        costs = Arrays.copyOf(costs, 2 * i);
+                        closed = Arrays.copyOf(closed, 2 * i);
+                    }
+                } else if (closed[i] || successorCost >= costs[i]) {
+                    continue;
+                }
+                parents[i] = selected;
+                actions[i] = (byte) action;
+                costs[i] = successorCost;
+                open.add(successorCost, i);
+            }
+        }
+        return monitor.unsolved(SearchResult.Status.NO_SOLUTION);
+    }
+
+    /**
+     * {@return a solution of the problem specified with the minimum cost,
+     * or {@code null} if the problem has no solution}
+     *
+     * @param problem a search problem with primitive states and non-negative action costs
+     */
+    public LongSolution search(LongSearchProblem problem) {
+        return search(problem, SearchLimits.NONE).solution();
+    }
+
+    /**
+     * {@return the result of searching a solution of the problem specified with the
+     * minimum cost within the limits specified}
+     * The depth of the result is the cost of the last state selected, capped at
+     * {@link Integer#MAX_VALUE}, or the number of actions of the solution.
+     *
+     * @param problem a search problem with primitive states and non-negative action costs
+     * @param limits the limits of the search
+     * @throws IllegalArgumentException if the cost of an action is negative
+     */
+    public SearchResult<LongSolution> search(LongSearchProblem problem, SearchLimits limits) {
+        var initialState = problem.getInitialState();
+        var monitor = new SearchMonitor("UniformCost", initialState, limits);
+        var index = new LongIndex();
+        var parents = new int[64];
+        var actions = new byte[64];
+        var costs = new long[64];
+        var closed = new boolean[64];
+        var open = new RadixHeap();
+        index.add(initialState);
+        monitor.visited();
+        parents[0] = -1;
+        open.add(0, 0);
+        while (! open.isEmpty()) {
+            var status = monitor.check();
+            if (status != null) {
+                return monitor.unsolved(status);
+            }
+            var cost = open.peekKey();
+            var selected = open.remove();
+            if (closed[selected] || cost != costs[selected]) {
+                continue; // the state has been reached with a smaller cost since the entry was added
+            }
+            closed[selected] = true;
+            monitor.setDepth((int) Math.min(cost, Integer.MAX_VALUE));
+            var state = index.get(selected);
+            if (problem.isGoal(state)) {
+                var solution = SearchNode.toSolution(index, parents, actions, selected);
+                return monitor.solved(solution, solution.getLength());
+            }
+            monitor.expanded();
+            for (var action = 0; action < problem.getActionCount(); action++) {
+                var successor = problem.getSuccessor(state, action);
+                if (successor == LongSearchProblem.NONE) {
+                    continue;
+                }
+                var successorCost = cost + checkCost(problem.getCost(state, action));
+                var i = index.add(successor);
+                if (i >= 0) {
+                    if (! monitor.visited()) {
+                        return monitor.unsolved(SearchResult.Status.STATE_LIMIT_REACHED);
+                    }
+                    if (i == parents.length) {
+                        parents = Arrays.copyOf(parents, 2 * i);
+                        actions = Arrays.copyOf(actions, 2 * i);
+                        costs = Arrays.copyOf(costs, 2 * i);
+                        closed = Arrays.copyOf(closed, 2 * i);
+                    }
+                } else {
+                    i = -(i + 1);
+                    if (closed[i] || successorCost >= costs[i]) {
+                        continue;
+                    }
+                }
+                parents[i] = selected;
+                actions[i] = (byte) action;
+                costs[i] = successorCost;
+                open.add(successorCost, i);
+            }
+        }
+        return monitor.unsolved(SearchResult.Status.NO_SOLUTION);
+    }
+
+    private static int checkCost(int cost) {
+        if (cost < 0) {
+            throw new IllegalArgumentException("Negative action cost " + cost);
+        }
+        return cost;
+    }
+
+}
@@ -0,0 +1,72 @@
+package puzzle.search;
+
+/**
+ * Records the states visited by a search whose states are encoded as non-negative {@code long} values.
+ * <p>
+ * An exact set never reports a new state as visited. An approximate set, like a
+ * {@link BitstateVisitedSet}, uses a fixed amount of memory for the set itself but may report new states
+ * as visited, thus a search using it may omit parts of the search space: the solution
+ * found may not be the shortest one, and not finding a solution does not prove that
+ * there is none.
+ */
+public interface VisitedSet {
+
+    /**
+     * Adds a state to the set.
+     *
+     * @param state a non-negative state
+     * @return whether the state is considered new
+     */
+    boolean add(long state);
+
+    /**
+     * {@return whether the state specified is considered visited}
+     *
+     * @param state a non-negative state
+     */
+    boolean contains(long state);
+
+    /**
+     * {@return the number of states added that have been considered new}
+     */
+    long size();
+
+    /**
+     * {@return the probability that a state not added yet is considered visited}
+     */
+    double getOmissionProbability();
+
+    /**
+     * {@return the approximate number of bytes used by the set}
+     */
+    long getMemoryUsage();
+
+    /**
+     * {@return an empty exact set backed by a hash table}
+     */
+    static VisitedSet exact() {
+        return new ExactVisitedSet();
+    }
+
+    /**
+     * {@return an empty exact set of the states {@code 0}, {@code 1}, ..., {@code stateCount - 1}
+     * backed by a bit array with one bit per state}
+     *
+     * @param stateCount the number of states
+     */
+    static VisitedSet dense(long stateCount) {
+        return new DenseVisitedSet(stateCount);
+    }
+
+    /**
+     * {@return an empty approximate set backed by a bit array of the size specified}
+     *
+     * @param memoryBytes the size of the bit array in bytes
+     * @param hashCount the number of bits set for each state
+     * @see BitstateVisitedSet
+     */
+    static VisitedSet bitstate(long memoryBytes, int hashCount) {
+        return new BitstateVisitedSet(memoryBytes, hashCount);
+    }
+
+}
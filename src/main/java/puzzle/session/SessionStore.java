@@ -0,0 +1,345 @@
+package puzzle.session;
+
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores a large number of game sessions in primitive arrays.
+ * <p>
+ * A session consists of its current packed state (see {@link PuzzleState#pack()}) and
+ * its move history. The history is a sequence of {@code long} words, each of which holds
+ * the packed state before its first move in its lowest {@value #STATE_BITS} bits
+ * followed by {@value #MOVES_PER_WORD} moves of two bits each (the ordinal of the
+ * direction). Moves cannot be undone by the reverse move in general, since some moves
+ * are irreversible, and the same state can be reached from several states by moving
+ * the block to the same direction. Instead, a move is undone by replaying the moves
+ * of its word from the state stored in the word, that takes at most
+ * {@code MOVES_PER_WORD - 1} table lookups. Moves that have been undone are kept
+ * in the history until a new move is made, thus they can be redone.
+ * <p>
+ * Sessions are distributed among stripes, each guarded by its own lock, thus
+ * operations on sessions of different stripes do not contend.
+ */
+public class SessionStore {
+
+    /**
+     * The number of bits of the packed state stored in each word of a history.
+     */
+    static final int STATE_BITS = 13;
+
+    /**
+     * The number of moves stored in each word of a history.
+     */
+    static final int MOVES_PER_WORD = (Long.SIZE - STATE_BITS) / 2;
+
+    private static final long STATE_MASK = (1L << STATE_BITS) - 1;
+
+    private static final short CLOSED = -1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static final int STRIPE_COUNT = 64;
+
+    private final LookupTables tables = LookupTables.getInstance();
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private final AtomicInteger nextStripe = new AtomicInteger();
+
+    /**
+     * Creates an empty {@code SessionStore} object.
+     */
+    public SessionStore() {
+        if (tables.getStateCount() > 1 << STATE_BITS) {
+            throw new AssertionError();
+        }
+        for (var i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * The sessions of a stripe. A session is identified by its slot in the arrays
+     * multiplied by the number of stripes plus the index of the stripe.
+     */
+    private static class Stripe {
+
+        private short[] states = new short[16];
+        private int[] cursors = new int[16];
+        private int[] lengths = new int[16];
+        private long[][] histories = new long[16][];
+        private int size;
+        private int[] free = new int[16];
+        private int freeCount;
+
+    }
+
+    /**
+     * Creates a session.
+     *
+     * @param state the initial state of the session
+     * @return the identifier of the session
+     */
+    public int create(PuzzleState state) {
+        var index = Math.floorMod(nextStripe.getAndIncrement(), STRIPE_COUNT);
+        var stripe = stripes[index];
+        synchronized (stripe) {
+            int slot;
+            if (stripe.freeCount > 0) {
+                slot = stripe.free[--stripe.freeCount];
+            } else {
+                slot = stripe.size++;
+                if (slot == stripe.states.length) {
+                    var capacity = slot + (slot >> 1);
+                    stripe.states = Arrays.copyOf(stripe.states, capacity);
+                    stripe.cursors = Arrays.copyOf(stripe.cursors, capacity);
+                    stripe.lengths = Arrays.copyOf(stripe.lengths, capacity);
+                    stripe.histories = Arrays.copyOf(stripe.histories, capacity);
+                }
+            }
+            stripe.states[slot] = (short) state.pack();
+            stripe.cursors[slot] = 0;
+            stripe.lengths[slot] = 0;
+            stripe.histories[slot] = null;
+            return slot * STRIPE_COUNT + index;
+        }
+    }
+
+    /**
+     * Closes a session and releases its history. The identifier may be reused by a new session.
+     *
+     * @param session the identifier of an open session
+     * @throws IllegalArgumentException if there is no such session
+     */
+    public void close(int session) {
+        var stripe = getStripe(session);
+        synchronized (stripe) {
+            var slot = getSlot(stripe, session);
+            stripe.states[slot] = CLOSED;
+            stripe.histories[slot] = null;
+            if (stripe.freeCount == stripe.free.length) {
+                stripe.free = Arrays.copyOf(stripe.free, 2 * stripe.freeCount);
+            }
+            stripe.free[stripe.freeCount++] = slot;
+        }
+    }
+
+    /**
+     * {@return the current state of a session}
+     *
+     * @param session the identifier of an open session
+     * @throws IllegalArgumentException if there is no such session
+     */
+    public PuzzleState getState(int session) {
+        return PuzzleState.unpack(getPackedState(session));
+    }
+
+    /**
+     * {@return the current state of a session packed by {@link PuzzleState#pack()}}
+     *
+     * @param session the identifier of an open session
+     * @throws IllegalArgumentException if there is no such session
+     */
+    public long getPackedState(int session) {
+        var stripe = getStripe(session);
+        synchronized (stripe) {
+            return stripe.states[getSlot(stripe, session)];
+        }
+    }
+
+    /**
+     * {@return the number of moves made in a session that have not been undone}
+     *
+     * @param session the identifier of an open session
+     * @throws IllegalArgumentException if there is no such session
+     */
+    public int getMoveCount(int session) {
+        var stripe = getStripe(session);
+        synchronized (stripe) {
+            return stripe.cursors[getSlot(stripe, session)];
+        }
+    }
+
+    /**
+     * {@return the direction of a move of a session}
+     *
+     * @param session the identifier of an open session
+     * @param index the index of a move that has not been undone
+     * @throws IllegalArgumentException if there is no such session or move
+     */
+    public Direction getMove(int session, int index) {
+        var stripe = getStripe(session);
+        synchronized (stripe) {
+            var slot = getSlot(stripe, session);
+            if (index < 0 || index >= stripe.cursors[slot]) {
+                throw new IllegalArgumentException();
+            }
+            return getMove(stripe.histories[slot], index);
+        }
+    }
+
+    /**
+     * Moves the block of a session to the direction specified if the move is legal.
+     * The moves that have been undone can not be redone afterwards.
+     *
+     * @param session the identifier of an open session
+     * @param direction the direction to which the block is moved
+     * @return whether the move is legal
+     * @throws IllegalArgumentException if there is no such session
+     */
+    public boolean move(int session, Direction direction) {
+        var stripe = getStripe(session);
+        synchronized (stripe) {
+            var slot = getSlot(stripe, session);
+            var state = stripe.states[slot];
+            var successor = tables.getSuccessor(state, direction);
+            if (successor == LookupTables.NONE) {
+                return false;
+            }
+            var cursor = stripe.cursors[slot];
+            var word = cursor / MOVES_PER_WORD;
+            var history = stripe.histories[slot];
+            if (history == null || word == history.length) {
+                history = stripe.histories[slot] = Arrays.copyOf(history == null ? new long[0] : history,
+                        word + 1 + (word >> 1));
+            }
+            var offset = STATE_BITS + 2 * (cursor % MOVES_PER_WORD);
+            if (offset == STATE_BITS) {
+                history[word] = state;
+            }
+            history[word] = history[word] & ((1L << offset) - 1) | (long) direction.ordinal() << offset;
+            stripe.states[slot] = (short) successor;
+            stripe.cursors[slot] = stripe.lengths[slot] = cursor + 1;
+            return true;
+        }
+    }
+
+    /**
+     * Undoes the last move of a session that has not been undone.
+     *
+     * @param session the identifier of an open session
+     * @return whether there was a move to undo
+     * @throws IllegalArgumentException if there is no such session
+     */
+    public boolean undo(int session) {
+        var stripe = getStripe(session);
+        synchronized (stripe) {
+            var slot = getSlot(stripe, session);
+            var cursor = stripe.cursors[slot];
+            if (cursor == 0) {
+                return false;
+            }
+            var history = stripe.histories[slot];
+            var first = (cursor - 1) / MOVES_PER_WORD * MOVES_PER_WORD;
+            var state = (int) (history[first / MOVES_PER_WORD] & STATE_MASK);
+            for (var i = first; i < cursor - 1; i++) {
+                state = tables.getSuccessor(state, getMove(history, i));
+            }
+            stripe.states[slot] = (short) state;
+            stripe.cursors[slot] = cursor - 1;
+            return true;
+        }
+    }
+
+    /**
+     * Redoes the last move of a session that has been undone.
+     *
+     * @param session the identifier of an open session
+     * @return whether there was a move to redo
+     * @throws IllegalArgumentException if there is no such session
+     */
+    public boolean redo(int session) {
+        var stripe = getStripe(session);
+        synchronized (stripe) {
+            var slot = getSlot(stripe, session);
+            var cursor = stripe.cursors[slot];
+            if (cursor == stripe.lengths[slot]) {
+                return false;
+            }
+            var direction = getMove(stripe.histories[slot], cursor);
+            stripe.states[slot] = (short) tables.getSuccessor(stripe.states[slot], direction);
+            stripe.cursors[slot] = cursor + 1;
+            return true;
+        }
+    }
+
+    /**
+     * {@return the number of open sessions}
+     */
+    public int size() {
+        var size = 0;
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size - stripe.freeCount;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * {@return the approximate number of bytes of heap memory used by the sessions}
+     * Array headers are assumed to take 16 bytes and references 4 bytes, as with
+     * compressed object pointers.
+     */
+    public long getMemoryUsage() {
+        var bytes = 0L;
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                var capacity = (long) stripe.states.length;
+                bytes += 4 * 16 + capacity * (Short.BYTES + 2 * Integer.BYTES + 4);
+                bytes += 16 + (long) stripe.free.length * Integer.BYTES;
+                for (var i = 0; i < stripe.size; i++) {
+                    if (stripe.histories[i] != null) {
+                        bytes += 16 + (long) stripe.histories[i].length * Long.BYTES;
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private Stripe getStripe(int session) {
+        if (session < 0) {
+            throw new IllegalArgumentException();
+        }
+        return stripes[session % STRIPE_COUNT];
+    }
+
+    private static int getSlot(Stripe stripe, int session) {
+        var slot = session / STRIPE_COUNT;
+        if (slot >= stripe.size || stripe.states[slot] == CLOSED) {
+            throw new IllegalArgumentException("No session " + session);
+        }
+        return slot;
+    }
+
+    private static Direction getMove(long[] history, int index) {
+        var offset = STATE_BITS + 2 * (index % MOVES_PER_WORD);
+        return DIRECTIONS[(int) (history[index / MOVES_PER_WORD] >>> offset) & 3];
+    }
+
+    public static void main(String[] args) {
+        var sessionCount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        var moveCount = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        var store = new SessionStore();
+        var random = new Random(0);
+        var initial = new PuzzleState();
+        var start = System.nanoTime();
+        for (var i = 0; i < sessionCount; i++) {
+            var session = store.create(initial);
+            for (var j = 0; j < moveCount; j++) {
+                if (! store.move(session, DIRECTIONS[random.nextInt(DIRECTIONS.length)])) {
+                    store.undo(session);
+                }
+            }
+        }
+        var nanos = System.nanoTime() - start;
+        System.out.printf("%d sessions, %.1f bytes per session, %.1f ns per operation%n",
+                store.size(), (double) store.getMemoryUsage() / store.size(),
+                (double) nanos / sessionCount / moveCount);
+    }
+
+}
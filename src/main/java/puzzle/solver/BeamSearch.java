@@ -0,0 +1,143 @@
+package puzzle.solver;
+
+import puzzle.state.PuzzleState;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Anytime beam search with a wall-clock budget.
+ * <p>
+ * Each iteration is a breadth-first search that keeps only the most promising
+ * states of each layer, ordered by the Manhattan distance between the red and
+ * the blue shoe. The first iteration uses the beam width specified, and the
+ * width is doubled after each iteration while time remains. Iterations never go
+ * deeper than the best solution found so far, thus every new solution is shorter.
+ * If an iteration does not discard any state, it is an exhaustive breadth-first
+ * search, that proves the best solution optimal.
+ */
+public class BeamSearch {
+
+    /**
+     * Represents the outcome of a beam search.
+     *
+     * @param solution the node of the best goal state found, or {@code null} if no goal state has been found
+     * @param optimal whether the solution is proven to be optimal, or, if there is
+     *                no solution, whether no goal state is proven to be reachable
+     * @param iterations the number of completed iterations
+     * @param beamWidth the beam width of the last completed iteration
+     */
+    public record Result(Node solution, boolean optimal, int iterations, int beamWidth) {
+    }
+
+    private final int beamWidth;
+
+    /**
+     * Creates a {@code BeamSearch} object.
+     *
+     * @param beamWidth the number of states kept in each layer in the first iteration
+     */
+    public BeamSearch(int beamWidth) {
+        if (beamWidth < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.beamWidth = beamWidth;
+    }
+
+    /**
+     * {@return the best solution found from the state specified within the time budget specified}
+     *
+     * @param state the initial state
+     * @param budget the time after which the search returns
+     */
+    public Result search(PuzzleState state, Duration budget) {
+        var deadline = System.nanoTime() + budget.toNanos();
+        if (state.isGoal()) {
+            return new Result(new Node(state), true, 0, 0);
+        }
+        Node best = null;
+        var iterations = 0;
+        var width = beamWidth;
+        var lastWidth = 0;
+        while (System.nanoTime() - deadline < 0) {
+            var bound = best == null ? Integer.MAX_VALUE : getDepth(best) - 1;
+            var iteration = search(state, width, bound, deadline);
+            if (iteration == null) {
+                break; // the deadline has passed
+            }
+            iterations++;
+            lastWidth = width;
+            if (iteration.solution() != null) {
+                best = iteration.solution();
+            }
+            if (iteration.optimal()) {
+                return new Result(best, true, iterations, width);
+            }
+            width = width > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : 2 * width;
+        }
+        return new Result(best, false, iterations, lastWidth);
+    }
+
+    /**
+     * Performs a single iteration.
+     *
+     * @return the shortest solution found with depth not exceeding the bound and whether
+     *         no state has been discarded, or {@code null} if the deadline has passed
+     */
+    private Result search(PuzzleState state, int width, int bound, long deadline) {
+        var root = new Node(state);
+        var seen = new HashSet<PuzzleState>();
+        seen.add(root.getState());
+        List<Node> layer = List.of(root);
+        var pruned = false;
+        for (var depth = 0; ! layer.isEmpty() && depth < bound; depth++) {
+            var next = new ArrayList<Node>();
+            for (var node : layer) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return null;
+                }
+                while (node.hasNextChild()) {
+                    var child = node.nextChild();
+                    if (seen.add(child.getState())) {
+                        if (child.getState().isGoal()) {
+                            return new Result(child, ! pruned, 1, width);
+                        }
+                        next.add(child);
+                    }
+                }
+            }
+            if (next.size() > width) {
+                next.sort(Comparator.comparingInt(node -> PuzzleProblem.getManhattanDistance(node.getState())));
+                next.subList(width, next.size()).clear();
+                pruned = true;
+            }
+            layer = next;
+        }
+        return new Result(null, ! pruned, 1, width);
+    }
+
+    private static int getDepth(Node node) {
+        var depth = 0;
+        for (var n = node; n.getParent() != null; n = n.getParent()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    public static void main(String[] args) {
+        var beamWidth = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        var budget = Duration.ofMillis(args.length > 1 ? Long.parseLong(args[1]) : 100);
+        var result = new BeamSearch(beamWidth).search(new PuzzleState(), budget);
+        if (result.solution() != null) {
+            System.out.printf("Solution (%s, %d iterations):%n", result.optimal() ? "optimal" : "not proven optimal",
+                    result.iterations());
+            new BreadthFirstSearch().printPath(result.solution());
+        } else {
+            System.out.println(result.optimal() ? "No solution" : "No solution found");
+        }
+    }
+
+}
@@ -1,5 +1,9 @@
 package puzzle.solver;
 
+import puzzle.jfr.LayerExpansionEvent;
+import puzzle.search.SearchLimits;
+import puzzle.search.SearchMonitor;
+import puzzle.search.SearchResult;
 import puzzle.state.PuzzleState;
 
 import java.util.HashSet;
@@ -8,26 +12,61 @@ import java.util.LinkedList;
 public class BreadthFirstSearch {
 
     public Node search(PuzzleState state) {
+        return search(state, SearchLimits.NONE).solution();
+    }
+
+    /**
+     * {@return the result of searching a goal state reachable from the state specified
+     * with the minimum number of moves within the limits specified}
+     * The solution of the result is the node of the goal state found.
+     *
+     * @param state the initial state
+     * @param limits the limits of the search
+     */
+    public SearchResult<Node> search(PuzzleState state, SearchLimits limits) {
+        var monitor = new SearchMonitor("BreadthFirstSearch", state, limits);
         var open = new LinkedList<Node>();
         var seen = new HashSet<Node>();
         var start = new Node(state);
         open.add(start);
         seen.add(start);
+        monitor.visited();
+        var depth = 0;
+        var remaining = 1L; // the number of nodes of the current layer in the open list
+        var successors = 0L;
+        var layerEvent = new LayerExpansionEvent("BreadthFirstSearch", depth, remaining);
         while (! open.isEmpty()) {
+            var status = monitor.check();
+            if (status != null) {
+                return monitor.unsolved(status);
+            }
             var selected = open.getFirst();
             if (selected.getState().isGoal()) {
-                return selected;
+                return monitor.solved(selected, depth);
             }
             open.removeFirst();
+            monitor.expanded();
             while (selected.hasNextChild()) {
                 Node nextChild = selected.nextChild();
+                successors++;
                 if (! seen.contains(nextChild)) {
                     open.addLast(nextChild);
                     seen.add(nextChild);
+                    if (! monitor.visited()) {
+                        return monitor.unsolved(SearchResult.Status.STATE_LIMIT_REACHED);
+                    }
                 }
             }
+            if (--remaining == 0) {
+                remaining = open.size();
+                layerEvent.finish(successors, remaining);
+                monitor.setDepth(depth);
+                depth++;
+                successors = 0;
+                layerEvent = new LayerExpansionEvent("BreadthFirstSearch", depth, remaining);
+            }
         }
-        return null;
+        return monitor.unsolved(SearchResult.Status.NO_SOLUTION);
     }
 
     public void printPath(Node node) {
@@ -0,0 +1,427 @@
+package puzzle.solver;
+
+import puzzle.search.VisitedSet;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+import static puzzle.solver.DistributedBreadthFirstSearch.*;
+
+/**
+ * A worker of {@link DistributedBreadthFirstSearch}.
+ * The worker can be started in a separate JVM using its {@link #main(String[])} method.
+ * <p>
+ * The owned states are kept in primitive arrays: every layer as an ascending array
+ * of packed states with the parents and the directions at the same indices, and
+ * the current layer in the order of the keys of the states.
+ */
+public class BreadthFirstSearchWorker implements Runnable {
+
+    private static final int BATCH_SIZE = 1024;
+
+    private static final long ROOT = -1;
+
+    private static final int CELLS = PuzzleState.BOARD_SIZE * PuzzleState.BOARD_SIZE;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final InetAddress host;
+    private final int port;
+    private final LookupTables tables = LookupTables.getInstance();
+    private final VisitedSet visited = VisitedSet.dense(tables.getStateCount());
+
+    private int id;
+    private int workerCount;
+    private final List<long[]> layerStates = new ArrayList<>();
+    private final List<long[]> layerParents = new ArrayList<>();
+    private final List<byte[]> layerDirections = new ArrayList<>();
+    private long[] frontier = new long[0];
+    private long[] frontierKeys = new long[0];
+    private long[] frontierRanks = new long[0];
+    private final ConcurrentLinkedQueue<long[]> received = new ConcurrentLinkedQueue<>();
+    private final Semaphore ends = new Semaphore(0);
+    private long[][] receivedKeys;
+    private final Semaphore keysReceived = new Semaphore(0);
+    private long[][] receivedRanks;
+    private final Semaphore ranksReceived = new Semaphore(0);
+    private DataOutputStream[] peers;
+
+    /**
+     * Creates a {@code BreadthFirstSearchWorker} object.
+     *
+     * @param host the host of the coordinator
+     * @param port the port of the coordinator
+     */
+    public BreadthFirstSearchWorker(InetAddress host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public void run() {
+        try (var coordinator = new Socket(host, port);
+             var peerServer = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            coordinator.setTcpNoDelay(true);
+            var in = new DataInputStream(new BufferedInputStream(coordinator.getInputStream()));
+            var out = new DataOutputStream(new BufferedOutputStream(coordinator.getOutputStream()));
+            out.writeByte(HELLO);
+            out.writeInt(peerServer.getLocalPort());
+            out.flush();
+            expect(in, INIT);
+            id = in.readInt();
+            workerCount = in.readInt();
+            var ports = new int[workerCount];
+            for (var i = 0; i < workerCount; i++) {
+                ports[i] = in.readInt();
+            }
+            var start = in.readLong();
+            receivedKeys = new long[workerCount][];
+            receivedRanks = new long[workerCount][];
+            var sockets = connectPeers(peerServer, ports);
+            try {
+                out.writeByte(READY);
+                out.flush();
+                if (getOwner(start, workerCount) == id) {
+                    visited.add(start);
+                    layerStates.add(new long[] {start});
+                    layerParents.add(new long[] {ROOT});
+                    layerDirections.add(new byte[] {-1});
+                    frontier = new long[] {start};
+                    frontierRanks = new long[] {0};
+                }
+                serve(in, out);
+            } finally {
+                for (var socket : sockets) {
+                    socket.close();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Socket> connectPeers(ServerSocket peerServer, int[] ports) throws IOException {
+        var sockets = new ArrayList<Socket>();
+        peers = new DataOutputStream[workerCount];
+        for (var i = 0; i < workerCount; i++) {
+            if (i != id) {
+                var socket = new Socket(InetAddress.getLoopbackAddress(), ports[i]);
+                socket.setTcpNoDelay(true);
+                sockets.add(socket);
+                peers[i] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                peers[i].writeInt(id);
+                peers[i].flush();
+            }
+        }
+        for (var i = 0; i < workerCount - 1; i++) {
+            var socket = peerServer.accept();
+            socket.setTcpNoDelay(true);
+            sockets.add(socket);
+            var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            var peer = in.readInt();
+            var reader = new Thread(() -> receive(peer, in));
+            reader.setDaemon(true);
+            reader.start();
+        }
+        return sockets;
+    }
+
+    /**
+     * Receives the messages sent by a peer until the connection is closed.
+     */
+    private void receive(int peer, DataInputStream in) {
+        try {
+            while (true) {
+                var message = in.readByte();
+                switch (message) {
+                    case BATCH -> received.add(readLongs(in, 3 * in.readInt()));
+                    case END -> ends.release();
+                    case KEYS -> {
+                        receivedKeys[peer] = readLongs(in, in.readInt());
+                        keysReceived.release();
+                    }
+                    case RANKS -> {
+                        receivedRanks[peer] = readLongs(in, in.readInt());
+                        ranksReceived.release();
+                    }
+                    default -> throw new IOException("Unexpected message " + message);
+                }
+            }
+        } catch (IOException e) {
+            // The connection has been closed at shutdown
+        }
+    }
+
+    private static long[] readLongs(DataInputStream in, int count) throws IOException {
+        var values = new long[count];
+        for (var i = 0; i < count; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    private static void writeLongs(DataOutputStream out, byte message, long[] values, int from, int to)
+            throws IOException {
+        out.writeByte(message);
+        out.writeInt(to - from);
+        for (var i = from; i < to; i++) {
+            out.writeLong(values[i]);
+        }
+    }
+
+    private void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        while (true) {
+            var message = in.readByte();
+            switch (message) {
+                case EXPAND -> expand(in.readLong(), out);
+                case OFFSET -> assignRanks(in.readLong());
+                case PARENT -> {
+                    var state = in.readLong();
+                    var found = false;
+                    for (var depth = 0; depth < layerStates.size() && ! found; depth++) {
+                        var index = Arrays.binarySearch(layerStates.get(depth), state);
+                        if (index >= 0) {
+                            out.writeByte(PARENT_REPLY);
+                            out.writeLong(layerParents.get(depth)[index]);
+                            out.writeByte(layerDirections.get(depth)[index]);
+                            found = true;
+                        }
+                    }
+                    if (! found) {
+                        out.writeByte(ERROR);
+                        out.writeUTF("Unknown state " + state);
+                    }
+                    out.flush();
+                }
+                case SHUTDOWN -> {
+                    return;
+                }
+                default -> throw new IOException("Unexpected message " + message);
+            }
+        }
+    }
+
+    /**
+     * Expands the owned part of the current layer, selects the owned states of the next
+     * layer, and sends their keys to the workers responsible for the ranges of the keys.
+     *
+     * @param layerSize the number of states of the current layer of all workers
+     */
+    private void expand(long layerSize, DataOutputStream out) throws IOException {
+        var batches = new long[workerCount][3 * BATCH_SIZE];
+        var sizes = new int[workerCount];
+        for (var i = 0; i < frontier.length; i++) {
+            var parent = frontier[i];
+            for (var direction : DIRECTIONS) {
+                var successor = tables.getSuccessor((int) parent, direction);
+                if (successor == LookupTables.NONE) {
+                    continue;
+                }
+                var owner = getOwner(successor, workerCount);
+                var batch = batches[owner];
+                batch[sizes[owner]++] = successor;
+                batch[sizes[owner]++] = parent;
+                batch[sizes[owner]++] = frontierRanks[i] * 4 + direction.ordinal();
+                if (sizes[owner] == batch.length) {
+                    send(owner, batch, sizes[owner]);
+                    sizes[owner] = 0;
+                }
+            }
+        }
+        for (var i = 0; i < workerCount; i++) {
+            send(i, batches[i], sizes[i]);
+            if (i != id) {
+                peers[i].writeByte(END);
+                peers[i].flush();
+            }
+        }
+        ends.acquireUninterruptibly(workerCount - 1);
+        selectLayer();
+        // The keys of the layer are ascending, thus the keys of each range are consecutive
+        var from = 0;
+        for (var range = 0; range < workerCount; range++) {
+            var to = from;
+            while (to < frontierKeys.length && getRange(frontierKeys[to], layerSize) == range) {
+                to++;
+            }
+            if (range == id) {
+                receivedKeys[id] = Arrays.copyOfRange(frontierKeys, from, to);
+            } else {
+                writeLongs(peers[range], KEYS, frontierKeys, from, to);
+                peers[range].flush();
+            }
+            from = to;
+        }
+        var goal = -1;
+        for (var i = 0; i < frontier.length && goal < 0; i++) {
+            if (isGoal(frontier[i])) {
+                goal = i;
+            }
+        }
+        keysReceived.acquireUninterruptibly(workerCount - 1);
+        var count = 0L;
+        for (var keys : receivedKeys) {
+            count += keys.length;
+        }
+        out.writeByte(LAYER_DONE);
+        out.writeLong(count);
+        out.writeBoolean(goal >= 0);
+        if (goal >= 0) {
+            out.writeLong(frontierKeys[goal]);
+            out.writeLong(frontier[goal]);
+        }
+        out.flush();
+    }
+
+    private void send(int owner, long[] batch, int size) throws IOException {
+        if (size == 0) {
+            return;
+        }
+        if (owner == id) {
+            received.add(Arrays.copyOf(batch, size));
+            return;
+        }
+        peers[owner].writeByte(BATCH);
+        peers[owner].writeInt(size / 3);
+        for (var i = 0; i < size; i++) {
+            peers[owner].writeLong(batch[i]);
+        }
+    }
+
+    /**
+     * Replaces the current layer by the successors that have not been visited, keeping
+     * for each state the successor with the smallest key, that is the one the sequential
+     * search would have generated first.
+     */
+    private void selectLayer() {
+        var batches = new ArrayList<long[]>();
+        var count = 0;
+        for (long[] batch; (batch = received.poll()) != null; ) {
+            batches.add(batch);
+            count += batch.length / 3;
+        }
+        // The keys are unique, thus the position of a successor is that of its key
+        var keys = new long[count];
+        var index = 0;
+        for (var batch : batches) {
+            for (var i = 2; i < batch.length; i += 3) {
+                keys[index++] = batch[i];
+            }
+        }
+        Arrays.sort(keys);
+        var states = new long[count];
+        var parents = new long[count];
+        for (var batch : batches) {
+            for (var i = 0; i < batch.length; i += 3) {
+                var position = Arrays.binarySearch(keys, batch[i + 2]);
+                states[position] = batch[i];
+                parents[position] = batch[i + 1];
+            }
+        }
+        var size = 0;
+        for (var i = 0; i < count; i++) {
+            if (visited.add(states[i])) {
+                states[size] = states[i];
+                parents[size] = parents[i];
+                keys[size] = keys[i];
+                size++;
+            }
+        }
+        frontier = Arrays.copyOf(states, size);
+        frontierKeys = Arrays.copyOf(keys, size);
+        frontierRanks = null;
+        var sorted = frontier.clone();
+        Arrays.sort(sorted);
+        var sortedParents = new long[size];
+        var sortedDirections = new byte[size];
+        for (var i = 0; i < size; i++) {
+            var position = Arrays.binarySearch(sorted, frontier[i]);
+            sortedParents[position] = parents[i];
+            sortedDirections[position] = (byte) (frontierKeys[i] & 3);
+        }
+        layerStates.add(sorted);
+        layerParents.add(sortedParents);
+        layerDirections.add(sortedDirections);
+    }
+
+    /**
+     * Merges the keys of the range of this worker, and sends the positions of the
+     * keys in the next layer back to the workers the keys have been received from.
+     *
+     * @param offset the number of keys of the previous ranges
+     */
+    private void assignRanks(long offset) throws IOException {
+        var indices = new int[workerCount];
+        var ranks = new long[workerCount][];
+        for (var i = 0; i < workerCount; i++) {
+            ranks[i] = new long[receivedKeys[i].length];
+        }
+        for (var rank = offset; ; rank++) {
+            var selected = -1;
+            for (var i = 0; i < workerCount; i++) {
+                if (indices[i] < receivedKeys[i].length && (selected < 0
+                        || receivedKeys[i][indices[i]] < receivedKeys[selected][indices[selected]])) {
+                    selected = i;
+                }
+            }
+            if (selected < 0) {
+                break;
+            }
+            ranks[selected][indices[selected]++] = rank;
+        }
+        for (var i = 0; i < workerCount; i++) {
+            if (i == id) {
+                receivedRanks[id] = ranks[id];
+            } else {
+                writeLongs(peers[i], RANKS, ranks[i], 0, ranks[i].length);
+                peers[i].flush();
+            }
+        }
+        ranksReceived.acquireUninterruptibly(workerCount - 1);
+        // The ranges are in the order of the keys, thus the ranks are in the order of the layer
+        frontierRanks = new long[frontier.length];
+        var index = 0;
+        for (var range : receivedRanks) {
+            System.arraycopy(range, 0, frontierRanks, index, range.length);
+            index += range.length;
+        }
+    }
+
+    /**
+     * {@return the worker that assigns the position of the key specified}
+     * The keys of the next layer are partitioned into ranges by the positions of their parents.
+     *
+     * @param key a key of the next layer
+     * @param layerSize the number of states of the current layer
+     */
+    private int getRange(long key, long layerSize) {
+        return (int) ((key >>> 2) * workerCount / layerSize);
+    }
+
+    /**
+     * {@return whether the red and the blue shoe are at the same position in the packed state specified}
+     */
+    private static boolean isGoal(long state) {
+        return state / (CELLS * CELLS) % CELLS == state / CELLS % CELLS;
+    }
+
+    public static void main(String[] args) throws IOException {
+        new BreadthFirstSearchWorker(InetAddress.getByName(args[0]), Integer.parseInt(args[1])).run();
+    }
+
+}
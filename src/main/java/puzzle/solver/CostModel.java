@@ -0,0 +1,42 @@
+package puzzle.solver;
+
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+
+/**
+ * Assigns a cost to the moves of the block.
+ */
+@FunctionalInterface
+public interface CostModel {
+
+    /**
+     * The cost model in which every move costs {@code 1}, thus the cheapest solutions
+     * are those with the minimum number of moves.
+     */
+    CostModel UNIT = (direction, carried) -> 1;
+
+    /**
+     * {@return the cost of moving the block to the direction specified}
+     *
+     * @param direction the direction to which the block is moved
+     * @param carried the bit mask of the shoes carried by the block,
+     *                as returned by {@link PuzzleState#move(Direction)}
+     */
+    int getCost(Direction direction, int carried);
+
+    /**
+     * {@return the cost model in which a move costs the base cost specified plus
+     * the carrying cost specified for each shoe carried by the block}
+     *
+     * @param baseCost the cost of moving the block without carrying any shoe
+     * @param carryingCost the additional cost of carrying a shoe
+     * @throws IllegalArgumentException if any of the costs is negative
+     */
+    static CostModel ofCarrying(int baseCost, int carryingCost) {
+        if (baseCost < 0 || carryingCost < 0) {
+            throw new IllegalArgumentException();
+        }
+        return (direction, carried) -> baseCost + carryingCost * Integer.bitCount(carried);
+    }
+
+}
@@ -0,0 +1,43 @@
+package puzzle.solver;
+
+import sun.misc.Unsafe;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Releases the memory of direct byte buffers explicitly.
+ * <p>
+ * The memory of a direct buffer is normally freed only after the garbage collector
+ * has collected the buffer object, that may happen much later than the memory is
+ * needed again, and allocations may then fail with {@link OutOfMemoryError} under
+ * {@code -XX:MaxDirectMemorySize}. {@link Unsafe#invokeCleaner(ByteBuffer)}, exported
+ * by the {@code jdk.unsupported} module, frees it immediately.
+ */
+final class DirectBuffers {
+
+    private static final Unsafe UNSAFE = getUnsafe();
+
+    private DirectBuffers() {
+    }
+
+    private static Unsafe getUnsafe() {
+        try {
+            var field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return (Unsafe) field.get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Frees the memory of the direct buffer specified, after which neither the buffer
+     * nor any view of it must be used.
+     *
+     * @param buffer a direct buffer that is not a slice or a duplicate
+     */
+    static void release(ByteBuffer buffer) {
+        UNSAFE.invokeCleaner(buffer);
+    }
+
+}
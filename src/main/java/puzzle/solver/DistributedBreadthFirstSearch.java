@@ -0,0 +1,285 @@
+package puzzle.solver;
+
+import puzzle.search.StateHashing;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Breadth-first search distributed among several worker processes.
+ * <p>
+ * Each worker owns the packed states (see {@link PuzzleState#pack()}) that hash to
+ * it, stores their parents, and expands the part of the current layer it owns.
+ * Successors are sent in batches to their owners over TCP connections between
+ * the workers. This object acts as the coordinator that synchronizes the workers
+ * at layer boundaries.
+ * <p>
+ * To return exactly the same path as {@link BreadthFirstSearch}, every state is
+ * assigned its position in the first-in-first-out order of the sequential
+ * search: a successor is identified by the position of its parent and the
+ * direction of the move, and the owner keeps the successor with the smallest such
+ * key. The layers stay on the workers. The keys of the next layer are partitioned
+ * into ranges by the positions of their parents, every worker merges the keys of
+ * one range sent by its peers, and the coordinator only adds up the number of keys
+ * of the ranges, thus every worker learns the position of the first key of its
+ * range. The goal state with the smallest key is the first one of the layer.
+ */
+public class DistributedBreadthFirstSearch {
+
+    static final byte HELLO = 1;
+    static final byte INIT = 2;
+    static final byte READY = 3;
+    static final byte EXPAND = 4;
+    static final byte LAYER_DONE = 5;
+    static final byte OFFSET = 6;
+    static final byte PARENT = 7;
+    static final byte PARENT_REPLY = 8;
+    static final byte SHUTDOWN = 9;
+    static final byte BATCH = 10;
+    static final byte END = 11;
+    static final byte ERROR = 12;
+    static final byte KEYS = 13;
+    static final byte RANKS = 14;
+
+    private static final int ACCEPT_TIMEOUT = 60_000;
+
+    private final int workerCount;
+    private final boolean forkProcesses;
+
+    /**
+     * Creates a {@code DistributedBreadthFirstSearch} object.
+     *
+     * @param workerCount the number of workers
+     * @param forkProcesses whether the workers are run in separate JVMs,
+     *                      otherwise they are run as threads of the current JVM
+     */
+    public DistributedBreadthFirstSearch(int workerCount, boolean forkProcesses) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.workerCount = workerCount;
+        this.forkProcesses = forkProcesses;
+    }
+
+    /**
+     * {@return the index of the worker that owns the packed state specified}
+     *
+     * @param state a packed state
+     * @param workerCount the number of workers
+     */
+    static int getOwner(long state, int workerCount) {
+        return StateHashing.getPartition(state, workerCount);
+    }
+
+    /**
+     * {@return the node that {@link BreadthFirstSearch#search(PuzzleState)} returns for the state specified}
+     *
+     * @param state the initial state
+     * @throws IOException if an I/O error occurs or a worker fails
+     */
+    public Node search(PuzzleState state) throws IOException {
+        var processes = new ArrayList<Process>();
+        var workers = new ArrayList<Connection>();
+        try (var server = new ServerSocket(0, workerCount, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(ACCEPT_TIMEOUT);
+            for (var i = 0; i < workerCount; i++) {
+                launchWorker(server.getLocalPort(), processes);
+            }
+            var ports = new int[workerCount];
+            for (var i = 0; i < workerCount; i++) {
+                var connection = new Connection(server.accept());
+                workers.add(connection);
+                connection.expect(HELLO);
+                ports[i] = connection.in.readInt();
+            }
+            for (var i = 0; i < workerCount; i++) {
+                var out = workers.get(i).out;
+                out.writeByte(INIT);
+                out.writeInt(i);
+                out.writeInt(workerCount);
+                for (var port : ports) {
+                    out.writeInt(port);
+                }
+                out.writeLong(state.pack());
+                out.flush();
+            }
+            for (var worker : workers) {
+                worker.expect(READY);
+            }
+            return search(state, workers);
+        } finally {
+            for (var worker : workers) {
+                worker.shutdown();
+            }
+            for (var process : processes) {
+                try {
+                    process.waitFor();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    process.destroy();
+                }
+            }
+        }
+    }
+
+    private void launchWorker(int port, List<Process> processes) throws IOException {
+        if (forkProcesses) {
+            var java = System.getProperty("java.home") + "/bin/java";
+            processes.add(new ProcessBuilder(java,
+                    "-cp", System.getProperty("java.class.path"),
+                    BreadthFirstSearchWorker.class.getName(),
+                    InetAddress.getLoopbackAddress().getHostAddress(),
+                    Integer.toString(port))
+                    .inheritIO()
+                    .start());
+        } else {
+            var thread = new Thread(new BreadthFirstSearchWorker(InetAddress.getLoopbackAddress(), port));
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private Node search(PuzzleState state, List<Connection> workers) throws IOException {
+        if (state.isGoal()) {
+            return new Node(state);
+        }
+        var layerSize = 1L;
+        while (true) {
+            for (var worker : workers) {
+                worker.out.writeByte(EXPAND);
+                worker.out.writeLong(layerSize);
+                worker.out.flush();
+            }
+            var counts = new long[workerCount];
+            var goal = -1L;
+            var goalKey = -1L;
+            for (var i = 0; i < workerCount; i++) {
+                var in = workers.get(i).in;
+                workers.get(i).expect(LAYER_DONE);
+                counts[i] = in.readLong();
+                if (in.readBoolean()) {
+                    var key = in.readLong();
+                    var candidate = in.readLong();
+                    if (goal < 0 || key < goalKey) {
+                        goal = candidate;
+                        goalKey = key;
+                    }
+                }
+            }
+            if (goal >= 0) {
+                return buildPath(goal, workers);
+            }
+            if (Arrays.stream(counts).sum() == 0) {
+                return null;
+            }
+            // The ranges are in the order of the keys, thus a range starts after the previous ones
+            layerSize = 0;
+            for (var i = 0; i < workerCount; i++) {
+                var out = workers.get(i).out;
+                out.writeByte(OFFSET);
+                out.writeLong(layerSize);
+                out.flush();
+                layerSize += counts[i];
+            }
+        }
+    }
+
+    private Node buildPath(long goal, List<Connection> workers) throws IOException {
+        var states = new LinkedList<PuzzleState>();
+        var directions = new LinkedList<Direction>();
+        var state = goal;
+        while (true) {
+            var worker = workers.get(getOwner(state, workerCount));
+            worker.out.writeByte(PARENT);
+            worker.out.writeLong(state);
+            worker.out.flush();
+            worker.expect(PARENT_REPLY);
+            var parent = worker.in.readLong();
+            var direction = worker.in.readByte();
+            states.addFirst(PuzzleState.unpack(state));
+            if (direction < 0) {
+                break;
+            }
+            directions.addFirst(Direction.values()[direction]);
+            state = parent;
+        }
+        var node = new Node(states.removeFirst());
+        while (! states.isEmpty()) {
+            node = new Node(states.removeFirst(), node, directions.removeFirst());
+        }
+        return node;
+    }
+
+    /**
+     * Reads a message type and checks that it is the one specified.
+     *
+     * @param in the stream to read from
+     * @param message the expected message type
+     * @throws IOException if an I/O error occurs, another message is received,
+     *                     or the peer replied with an error
+     */
+    static void expect(DataInputStream in, byte message) throws IOException {
+        var actual = in.readByte();
+        if (actual == ERROR) {
+            throw new IOException(in.readUTF());
+        }
+        if (actual != message) {
+            throw new IOException(String.format("Expected message %d, but received %d", message, actual));
+        }
+    }
+
+    /**
+     * Represents the connection between the coordinator and a worker.
+     */
+    private static class Connection {
+
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        void expect(byte message) throws IOException {
+            DistributedBreadthFirstSearch.expect(in, message);
+        }
+
+        void shutdown() {
+            try (socket) {
+                out.writeByte(SHUTDOWN);
+                out.flush();
+            } catch (IOException e) {
+                // The worker has already terminated
+            }
+        }
+
+    }
+
+    public static void main(String[] args) throws IOException {
+        var workerCount = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        var result = new DistributedBreadthFirstSearch(workerCount, true).search(new PuzzleState());
+        if (result != null) {
+            System.out.println("Solution:");
+            new BreadthFirstSearch().printPath(result);
+        } else {
+            System.out.println("No solution");
+        }
+    }
+
+}
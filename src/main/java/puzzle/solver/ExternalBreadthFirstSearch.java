@@ -0,0 +1,365 @@
+package puzzle.solver;
+
+import puzzle.jfr.LayerExpansionEvent;
+import puzzle.jfr.SearchEvent;
+import puzzle.state.Direction;
+import puzzle.state.Predecessor;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Breadth-first search that keeps the layers of the search space on disk instead of the heap.
+ * <p>
+ * Each layer is stored in a file as the ascending sequence of the packed states
+ * (see {@link PuzzleState#pack()}) it contains. The successors of a layer are
+ * collected in a buffer of limited size, that is sorted and written to a run
+ * file whenever it becomes full. The runs are then merged, and the states that
+ * also occur in previous layers are removed during the same merge (delayed
+ * duplicate detection). After a layer is completed, a checkpoint is written,
+ * thus the search can be resumed from the last completed layer by calling
+ * {@link #search(PuzzleState)} again with the same directory and initial state.
+ */
+public class ExternalBreadthFirstSearch {
+
+    private static final String CHECKPOINT_FILE = "checkpoint.properties";
+
+    private static final int MIN_READER_BUFFER_SIZE = 8 * 1024;
+
+    private final Path directory;
+    private final long memoryBudget;
+    private int locality = Integer.MAX_VALUE;
+    private long expanded;
+    private long[] buffer;
+
+    /**
+     * Creates an {@code ExternalBreadthFirstSearch} object.
+     *
+     * @param directory the directory where the layers and the checkpoint are stored
+     * @param memoryBudget the approximate number of bytes that can be used for buffering states
+     */
+    public ExternalBreadthFirstSearch(Path directory, long memoryBudget) {
+        if (memoryBudget < 2 * MIN_READER_BUFFER_SIZE) {
+            throw new IllegalArgumentException();
+        }
+        this.directory = directory;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Sets the number of previous layers against which new states are checked for duplicates.
+     * By default all previous layers are used, that is always correct. Checking only
+     * the last two layers is sufficient if every move can be undone by a single move,
+     * but this does not hold for the moves of the puzzle in general. With too small a
+     * locality, states are expanded again, and the layers of a search without a
+     * solution may never become empty. Such a search ends once the depth reaches the
+     * number of states, since a shortest path never visits a state twice.
+     *
+     * @param locality the number of previous layers to use for duplicate detection
+     */
+    public void setLocality(int locality) {
+        if (locality < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.locality = locality;
+    }
+
+    /**
+     * {@return a node that represents a goal state reachable from the state specified
+     * with the minimum number of moves, or {@code null} if there is no such state}
+     *
+     * @param state the initial state
+     * @throws IOException if an I/O error occurs
+     */
+    public Node search(PuzzleState state) throws IOException {
+        var event = new SearchEvent("ExternalBreadthFirstSearch");
+        expanded = 0;
+        Files.createDirectories(directory);
+        deleteIncompleteFiles();
+        var start = state.pack();
+        var depth = restore(start);
+        if (depth < 0) {
+            clear();
+            try (var writer = new LongFileWriter(getLayerFile(0), Long.BYTES)) {
+                writer.write(start);
+            }
+            depth = 0;
+            saveCheckpoint(start, depth);
+        }
+        var maxDepth = LookupTables.getInstance().getStateCount() - 1;
+        try {
+            while (true) {
+                var goal = expand(depth);
+                if (goal != null) {
+                    event.finish(state, depth, expanded);
+                    return buildPath(state, goal, depth);
+                }
+                if (Files.size(getLayerFile(depth + 1)) == 0 || depth >= maxDepth) {
+                    event.finish(state, -1, expanded);
+                    return null;
+                }
+                depth++;
+                saveCheckpoint(start, depth);
+            }
+        } finally {
+            buffer = null;
+        }
+    }
+
+    /**
+     * {@return the depth of the last completed layer of an earlier search from the state
+     * specified, or {@code -1} if there is no such search to resume}
+     * A checkpoint whose values are missing or invalid is ignored.
+     */
+    private int restore(long start) throws IOException {
+        var file = directory.resolve(CHECKPOINT_FILE);
+        if (! Files.exists(file)) {
+            return -1;
+        }
+        var properties = new Properties();
+        long checkpointStart;
+        int depth;
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+            checkpointStart = Long.parseLong(properties.getProperty("start"));
+            depth = Integer.parseInt(properties.getProperty("depth"));
+        } catch (IllegalArgumentException e) {
+            // Also thrown for malformed escapes, NumberFormatException is a subclass
+            return -1;
+        }
+        if (checkpointStart != start || depth < 0) {
+            return -1;
+        }
+        for (var i = 0; i <= depth; i++) {
+            if (! Files.exists(getLayerFile(i))) {
+                return -1;
+            }
+        }
+        return depth;
+    }
+
+    private void saveCheckpoint(long start, int depth) throws IOException {
+        var properties = new Properties();
+        properties.setProperty("start", Long.toString(start));
+        properties.setProperty("depth", Integer.toString(depth));
+        var temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            properties.store(out, null);
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteIncompleteFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                var name = file.getFileName().toString();
+                if (name.startsWith("run-") || name.endsWith(".tmp")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private void clear() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                var name = file.getFileName().toString();
+                if (name.startsWith("layer-") || name.startsWith("run-") || name.startsWith(CHECKPOINT_FILE)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the successors of the layer specified to the file of the next layer.
+     *
+     * @param depth the depth of the layer to expand
+     * @return the first goal state of the layer, or {@code null} if the layer contains no goal state
+     */
+    private PuzzleState expand(int depth) throws IOException {
+        var layerSize = Files.size(getLayerFile(depth)) / Long.BYTES;
+        var event = new LayerExpansionEvent("ExternalBreadthFirstSearch", depth, layerSize);
+        var successors = 0L;
+        // The buffer holds all successors of small layers, and is reused by later layers
+        var capacity = (int) Math.min(Math.min(Integer.MAX_VALUE - 8, memoryBudget / 2 / Long.BYTES),
+                Math.max(1, layerSize * Direction.values().length));
+        if (buffer == null || buffer.length < capacity) {
+            buffer = new long[capacity];
+        }
+        var size = 0;
+        var runs = new ArrayList<Path>();
+        try (var reader = new LongFileReader(getLayerFile(depth), MIN_READER_BUFFER_SIZE)) {
+            while (reader.hasNext()) {
+                var state = PuzzleState.unpack(reader.next());
+                if (state.isGoal()) {
+                    deleteAll(runs);
+                    return state;
+                }
+                expanded++;
+                for (var direction : state.getLegalMoves()) {
+                    successors++;
+                    var successor = state.clone();
+                    successor.move(direction);
+                    if (size == buffer.length) {
+                        runs.add(writeRun(depth, runs.size(), buffer, size));
+                        size = 0;
+                    }
+                    buffer[size++] = successor.pack();
+                }
+            }
+        }
+        runs.add(writeRun(depth, runs.size(), buffer, size));
+        merge(depth, runs);
+        deleteAll(runs);
+        event.finish(successors, Files.size(getLayerFile(depth + 1)) / Long.BYTES);
+        return null;
+    }
+
+    private Path writeRun(int depth, int index, long[] buffer, int size) throws IOException {
+        Arrays.sort(buffer, 0, size);
+        var run = directory.resolve(String.format("run-%d-%d.bin", depth + 1, index));
+        try (var writer = new LongFileWriter(run, MIN_READER_BUFFER_SIZE)) {
+            for (var i = 0; i < size; i++) {
+                if (i == 0 || buffer[i] != buffer[i - 1]) {
+                    writer.write(buffer[i]);
+                }
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Merges the runs into the file of the next layer omitting the states that occur in previous layers.
+     */
+    private void merge(int depth, List<Path> runs) throws IOException {
+        var previous = new ArrayList<Path>();
+        for (var i = depth; i >= 0 && depth - i < locality; i--) {
+            previous.add(getLayerFile(i));
+        }
+        var bufferSize = (int) Math.max(MIN_READER_BUFFER_SIZE,
+                Math.min(Integer.MAX_VALUE - 8, memoryBudget / 2 / (runs.size() + previous.size() + 1)));
+        var runReaders = new ArrayList<LongFileReader>();
+        var previousReaders = new ArrayList<LongFileReader>();
+        var temporary = directory.resolve(String.format("layer-%d.bin.tmp", depth + 1));
+        try (var writer = new LongFileWriter(temporary, bufferSize)) {
+            for (var run : runs) {
+                runReaders.add(new LongFileReader(run, bufferSize));
+            }
+            for (var layer : previous) {
+                previousReaders.add(new LongFileReader(layer, bufferSize));
+            }
+            while (true) {
+                LongFileReader smallest = null;
+                for (var reader : runReaders) {
+                    if (reader.hasNext() && (smallest == null || reader.peek() < smallest.peek())) {
+                        smallest = reader;
+                    }
+                }
+                if (smallest == null) {
+                    break;
+                }
+                var state = smallest.next();
+                for (var reader : runReaders) {
+                    while (reader.hasNext() && reader.peek() == state) {
+                        reader.next();
+                    }
+                }
+                if (! containsAndSkip(previousReaders, state)) {
+                    writer.write(state);
+                }
+            }
+        } finally {
+            closeAll(runReaders);
+            closeAll(previousReaders);
+        }
+        Files.move(temporary, getLayerFile(depth + 1),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static boolean containsAndSkip(List<LongFileReader> readers, long state) throws IOException {
+        var found = false;
+        for (var reader : readers) {
+            while (reader.hasNext() && reader.peek() < state) {
+                reader.next();
+            }
+            if (reader.hasNext() && reader.peek() == state) {
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Reconstructs the path to the goal state backwards by finding a predecessor
+     * of each state in the previous layer.
+     */
+    private Node buildPath(PuzzleState initial, PuzzleState goal, int depth) throws IOException {
+        var states = new LinkedList<PuzzleState>();
+        var directions = new LinkedList<Direction>();
+        var state = goal;
+        for (var i = depth - 1; i >= 0; i--) {
+            Predecessor found = null;
+            for (var predecessor : state.getPredecessors()) {
+                if (LongFileReader.contains(getLayerFile(i), predecessor.state().pack())) {
+                    found = predecessor;
+                    break;
+                }
+            }
+            if (found == null) {
+                throw new IOException("Inconsistent layer files in " + directory);
+            }
+            states.addFirst(state);
+            directions.addFirst(found.direction());
+            state = found.state();
+        }
+        var node = new Node(initial);
+        while (! states.isEmpty()) {
+            node = new Node(states.removeFirst(), node, directions.removeFirst());
+        }
+        return node;
+    }
+
+    private Path getLayerFile(int depth) {
+        return directory.resolve(String.format("layer-%d.bin", depth));
+    }
+
+    private static void deleteAll(List<Path> files) throws IOException {
+        for (var file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void closeAll(List<LongFileReader> readers) throws IOException {
+        for (var reader : readers) {
+            reader.close();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        var directory = Paths.get(args.length > 0 ? args[0] : "bfs");
+        var memoryBudget = args.length > 1 ? Long.parseLong(args[1]) : 64L * 1024 * 1024;
+        var bfs = new ExternalBreadthFirstSearch(directory, memoryBudget);
+        var result = bfs.search(new PuzzleState());
+        if (result != null) {
+            System.out.println("Solution:");
+            new BreadthFirstSearch().printPath(result);
+        } else {
+            System.out.println("No solution");
+        }
+    }
+
+}
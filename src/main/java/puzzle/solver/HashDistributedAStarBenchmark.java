@@ -0,0 +1,165 @@
+package puzzle.solver;
+
+import puzzle.search.AStar;
+import puzzle.search.HashDistributedAStar;
+import puzzle.search.LongSearchProblem;
+import puzzle.search.SearchLimits;
+
+import java.util.Random;
+
+/**
+ * Measures how {@link HashDistributedAStar} scales with the number of threads.
+ * <p>
+ * The state space of the puzzle is too small for a search to outweigh the
+ * synchronization of the workers, thus the benchmark solves a few hard instances
+ * of the fifteen puzzle instead, a search space of about 10<sup>13</sup> states. The
+ * instances are generated by random walks from the goal state with a fixed seed.
+ * The instances are solved with 1, 2, 4, ... threads up to the number specified (the
+ * number of processors by default). All instances are solved by the same search object
+ * for each number of threads, that is warmed up first, thus the measurement does not
+ * include starting the worker threads. Every solution is checked to be as long as
+ * the one found by {@link AStar}.
+ */
+public class HashDistributedAStarBenchmark {
+
+    private static final int SIZE = 4;
+    private static final int CELLS = SIZE * SIZE;
+
+    /**
+     * The fifteen puzzle, a state holds the position of tile {@code i} in the bits
+     * {@code 4 * (i - 1)} to {@code 4 * i - 1}, the position of the blank is the one
+     * not occupied by a tile. The actions move the blank up, right, down and left.
+     * The heuristic is the sum of the Manhattan distances of the tiles to their goal positions.
+     */
+    private static class FifteenPuzzle implements LongSearchProblem {
+
+        private static final int[] ROW_CHANGES = {-1, 0, 1, 0};
+        private static final int[] COL_CHANGES = {0, 1, 0, -1};
+
+        /**
+         * The goal state with tile {@code i} at position {@code i} and the blank at position {@code 0}.
+         */
+        static final long GOAL = goal();
+
+        private final long initialState;
+
+        FifteenPuzzle(long initialState) {
+            this.initialState = initialState;
+        }
+
+        private static long goal() {
+            var state = 0L;
+            for (var tile = 1; tile < CELLS; tile++) {
+                state |= (long) tile << 4 * (tile - 1);
+            }
+            return state;
+        }
+
+        static int getBlank(long state) {
+            // The positions of all cells xor to zero, thus the missing position is the xor of the tiles
+            var blank = 0;
+            for (var tile = 1; tile < CELLS; tile++) {
+                blank ^= (int) (state >>> 4 * (tile - 1)) & 15;
+            }
+            return blank;
+        }
+
+        @Override
+        public long getInitialState() {
+            return initialState;
+        }
+
+        @Override
+        public int getActionCount() {
+            return ROW_CHANGES.length;
+        }
+
+        @Override
+        public long getSuccessor(long state, int action) {
+            var blank = getBlank(state);
+            var row = blank / SIZE + ROW_CHANGES[action];
+            var col = blank % SIZE + COL_CHANGES[action];
+            if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
+                return NONE;
+            }
+            var target = row * SIZE + col;
+            for (var tile = 1; tile < CELLS; tile++) {
+                var shift = 4 * (tile - 1);
+                if (((state >>> shift) & 15) == target) {
+                    return state & ~(15L << shift) | (long) blank << shift;
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public boolean isGoal(long state) {
+            return state == GOAL;
+        }
+
+        @Override
+        public int getHeuristic(long state) {
+            var sum = 0;
+            for (var tile = 1; tile < CELLS; tile++) {
+                var position = (int) (state >>> 4 * (tile - 1)) & 15;
+                sum += Math.abs(position / SIZE - tile / SIZE) + Math.abs(position % SIZE - tile % SIZE);
+            }
+            return sum;
+        }
+
+    }
+
+    private static long randomWalk(Random random, int length) {
+        var problem = new FifteenPuzzle(FifteenPuzzle.GOAL);
+        var state = FifteenPuzzle.GOAL;
+        var previous = -1;
+        for (var i = 0; i < length; ) {
+            var action = random.nextInt(problem.getActionCount());
+            var successor = problem.getSuccessor(state, action);
+            if (successor != LongSearchProblem.NONE && action != (previous + 2) % 4) {
+                state = successor;
+                previous = action;
+                i++;
+            }
+        }
+        return state;
+    }
+
+    public static void main(String[] args) {
+        var maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        var instanceCount = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        var walkLength = args.length > 2 ? Integer.parseInt(args[2]) : 80;
+        var random = new Random(42);
+        var problems = new FifteenPuzzle[instanceCount];
+        var lengths = new int[instanceCount];
+        for (var i = 0; i < instanceCount; i++) {
+            problems[i] = new FifteenPuzzle(randomWalk(random, walkLength));
+            lengths[i] = new AStar().search(problems[i]).getLength();
+        }
+        var baseline = 0.0;
+        for (var threads = 1; ; threads = Math.min(2 * threads, maxThreads)) {
+            try (var search = new HashDistributedAStar(threads)) {
+                search.search(problems[0]); // starts the worker threads
+                var expanded = 0L;
+                var start = System.nanoTime();
+                for (var i = 0; i < instanceCount; i++) {
+                    var result = search.search(problems[i], SearchLimits.NONE);
+                    if (result.solution().getLength() != lengths[i]) {
+                        throw new AssertionError("Non-optimal solution of instance " + i);
+                    }
+                    expanded += result.nodesExpanded();
+                }
+                var seconds = (System.nanoTime() - start) / 1e9;
+                if (threads == 1) {
+                    baseline = seconds;
+                }
+                System.out.printf("%3d threads: %8.3f s, %10.0f nodes/s, speedup %.2f%n",
+                        threads, seconds, expanded / seconds, baseline / seconds);
+            }
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+
+}
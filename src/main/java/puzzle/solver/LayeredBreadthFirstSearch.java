@@ -0,0 +1,153 @@
+package puzzle.solver;
+
+import puzzle.jfr.LayerExpansionEvent;
+import puzzle.search.VisitedSet;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily enumerates the layers of the states reachable from a state in breadth-first order.
+ * <p>
+ * Layer {@code d} consists of the states whose distance from the initial state is
+ * {@code d}, as an ascending array of packed states (see {@link PuzzleState#pack()}).
+ * A layer is computed only when it is requested, and only the last layer returned is
+ * kept to compute the next one. Checking new states against the last two layers is
+ * not sufficient to detect duplicates, since some moves are irreversible, thus the
+ * states reached so far are also recorded in a {@link VisitedSet}, by default in a
+ * bit set with a single bit per packed state. Consumers can stop at any layer, for
+ * example by limiting the stream.
+ */
+public class LayeredBreadthFirstSearch implements Iterator<long[]> {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final LookupTables tables = LookupTables.getInstance();
+    private final VisitedSet reached;
+    private long[] last;
+    private long[] next;
+    private int depth;
+
+    /**
+     * Creates a {@code LayeredBreadthFirstSearch} object.
+     *
+     * @param state the initial state
+     */
+    public LayeredBreadthFirstSearch(PuzzleState state) {
+        this(state, VisitedSet.dense(LookupTables.getInstance().getStateCount()));
+    }
+
+    /**
+     * Creates a {@code LayeredBreadthFirstSearch} object that uses the visited set specified.
+     * If the set is approximate, states may be missing from the layers.
+     *
+     * @param state the initial state
+     * @param visited an empty visited set
+     */
+    public LayeredBreadthFirstSearch(PuzzleState state, VisitedSet visited) {
+        var start = state.pack();
+        reached = visited;
+        reached.add(start);
+        next = new long[] {start};
+    }
+
+    /**
+     * {@return the sequential and ordered stream of the layers reachable from the state specified}
+     *
+     * @param state the initial state
+     */
+    public static Stream<long[]> layers(PuzzleState state) {
+        return stream(new LayeredBreadthFirstSearch(state));
+    }
+
+    /**
+     * {@return the sequential and ordered stream of the layers reachable from the state
+     * specified using the visited set specified}
+     *
+     * @param state the initial state
+     * @param visited an empty visited set
+     */
+    public static Stream<long[]> layers(PuzzleState state, VisitedSet visited) {
+        return stream(new LayeredBreadthFirstSearch(state, visited));
+    }
+
+    private static Stream<long[]> stream(LayeredBreadthFirstSearch search) {
+        var spliterator = Spliterators.spliteratorUnknownSize(search,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * {@return whether there is a non-empty layer that has not been returned yet}
+     * The next layer is computed if it has not been computed yet.
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null && last != null) {
+            next = expand(last);
+            last = null;
+            if (next.length == 0) {
+                next = null;
+            }
+        }
+        return next != null;
+    }
+
+    /**
+     * {@return the next layer}
+     *
+     * @throws NoSuchElementException if all layers have been returned
+     */
+    @Override
+    public long[] next() {
+        if (! hasNext()) {
+            throw new NoSuchElementException();
+        }
+        last = next;
+        next = null;
+        return last.clone();
+    }
+
+    private long[] expand(long[] layer) {
+        var event = new LayerExpansionEvent("LayeredBreadthFirstSearch", depth++, layer.length);
+        var successors = 0L;
+        var result = new long[Math.max(16, layer.length)];
+        var size = 0;
+        for (var state : layer) {
+            for (var direction : DIRECTIONS) {
+                var successor = tables.getSuccessor((int) state, direction);
+                if (successor == LookupTables.NONE) {
+                    continue;
+                }
+                successors++;
+                if (reached.add(successor)) {
+                    if (size == result.length) {
+                        result = Arrays.copyOf(result, 2 * size);
+                    }
+                    result[size++] = successor;
+                }
+            }
+        }
+        result = Arrays.copyOf(result, size);
+        Arrays.sort(result);
+        event.finish(successors, size);
+        return result;
+    }
+
+    public static void main(String[] args) {
+        var depth = 0;
+        for (var layer : (Iterable<long[]>) () -> new LayeredBreadthFirstSearch(new PuzzleState())) {
+            var goals = Arrays.stream(layer).filter(state -> PuzzleState.unpack(state).isGoal()).count();
+            System.out.printf("Layer %d: %d states, %d goal states%n", depth++, layer.length, goals);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package puzzle.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams the {@code long} values of a file written by {@link LongFileWriter} through a direct buffer.
+ */
+class LongFileReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private boolean hasNext;
+    private long next;
+
+    /**
+     * Creates a {@code LongFileReader} object that reads the file specified from the beginning.
+     *
+     * @param file the file to read
+     * @param bufferSize the size of the buffer in bytes
+     * @throws IOException if the file cannot be opened
+     */
+    LongFileReader(Path file, int bufferSize) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer = ByteBuffer.allocateDirect(Math.max(Long.BYTES, bufferSize - bufferSize % Long.BYTES));
+        buffer.flip();
+        advance();
+    }
+
+    /**
+     * {@return whether there are more values to read}
+     */
+    boolean hasNext() {
+        return hasNext;
+    }
+
+    /**
+     * {@return the next value without consuming it}
+     */
+    long peek() {
+        return next;
+    }
+
+    /**
+     * {@return the next value}
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    long next() throws IOException {
+        var value = next;
+        advance();
+        return value;
+    }
+
+    private void advance() throws IOException {
+        if (buffer.remaining() < Long.BYTES) {
+            buffer.compact();
+            while (buffer.position() < Long.BYTES) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+        }
+        hasNext = buffer.remaining() >= Long.BYTES;
+        if (hasNext) {
+            next = buffer.getLong();
+        }
+    }
+
+    /**
+     * {@return whether the sorted file specified contains the value specified}
+     * The file is searched using binary search with positional reads.
+     *
+     * @param file a file of values in ascending order
+     * @param value the value to search for
+     * @throws IOException if an I/O error occurs
+     */
+    static boolean contains(Path file, long value) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = ByteBuffer.allocate(Long.BYTES);
+            var low = 0L;
+            var high = channel.size() / Long.BYTES - 1;
+            while (low <= high) {
+                var middle = (low + high) >>> 1;
+                buffer.clear();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, middle * Long.BYTES + buffer.position()) < 0) {
+                        throw new IOException("Unexpected end of file: " + file);
+                    }
+                }
+                var current = buffer.getLong(0);
+                if (current < value) {
+                    low = middle + 1;
+                } else if (current > value) {
+                    high = middle - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,64 @@
+package puzzle.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a sequence of {@code long} values to a file through a direct buffer.
+ */
+class LongFileWriter implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a {@code LongFileWriter} object that truncates or creates the file specified.
+     *
+     * @param file the file to write
+     * @param bufferSize the size of the buffer in bytes
+     * @throws IOException if the file cannot be opened
+     */
+    LongFileWriter(Path file, int bufferSize) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(Math.max(Long.BYTES, bufferSize - bufferSize % Long.BYTES));
+    }
+
+    /**
+     * Appends a value to the file.
+     *
+     * @param value the value to write
+     * @throws IOException if an I/O error occurs
+     */
+    void write(long value) throws IOException {
+        if (! buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.putLong(value);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the buffer, forces the content of the file to the storage device and closes it.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+            channel.force(true);
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package puzzle.solver;
+
+import puzzle.jfr.LayerExpansionEvent;
+import puzzle.jfr.SearchEvent;
+import puzzle.search.LongSearchProblem;
+import puzzle.search.LongSolution;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first search that keeps all its per-state data outside the Java heap.
+ * <p>
+ * The distances and the actions leading from the parents are stored in an
+ * {@link OffHeapStateTable}, that also serves for duplicate detection. The states
+ * reached are appended to an {@link OffHeapLongQueue} in breadth-first order, thus
+ * the current and the next layer are consecutive ranges of the queue, and the
+ * expansion of a layer touches only the states of the layer. The path is built
+ * backwards by finding in the previous layer a state from which the action stored
+ * for the current state leads to it, that scans each layer at most once.
+ */
+public class OffHeapBreadthFirstSearch {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * {@return a node that represents a goal state reachable from the state specified
+     * with the minimum number of moves, or {@code null} if there is no such state}
+     * The table is sized for the board of {@link PuzzleState}.
+     *
+     * @param state the initial state
+     */
+    public Node search(PuzzleState state) {
+        try (var table = OffHeapStateTable.forBoardSize(PuzzleState.BOARD_SIZE)) {
+            return search(state, table);
+        }
+    }
+
+    /**
+     * {@return a node that represents a goal state reachable from the state specified
+     * with the minimum number of moves, or {@code null} if there is no such state}
+     * After the search, the table contains the distances of the states visited
+     * and the directions of the moves from their parents as actions.
+     *
+     * @param state the initial state
+     * @param table an empty table of the packed states of the board
+     */
+    public Node search(PuzzleState state, OffHeapStateTable table) {
+        var solution = search(new PackedPuzzleProblem(state), table);
+        if (solution == null) {
+            return null;
+        }
+        var node = new Node(state);
+        for (var i = 0; i < solution.getLength(); i++) {
+            node = new Node(PuzzleState.unpack(solution.states()[i + 1]), node, DIRECTIONS[solution.actions()[i]]);
+        }
+        return node;
+    }
+
+    /**
+     * {@return a solution of the problem specified with the minimum number of actions,
+     * or {@code null} if the problem has no solution}
+     * After the search, the table contains the distances of the states visited
+     * and the actions that lead from their parents.
+     *
+     * @param problem a search problem with at most {@link OffHeapStateTable#MAX_ACTIONS}
+     *                actions whose states are less than the number of states of the table
+     * @param table an empty table
+     */
+    public LongSolution search(LongSearchProblem problem, OffHeapStateTable table) {
+        if (problem.getActionCount() > OffHeapStateTable.MAX_ACTIONS) {
+            throw new IllegalArgumentException("Too many actions");
+        }
+        var event = new SearchEvent("OffHeapBreadthFirstSearch");
+        var expanded = 0L;
+        var start = problem.getInitialState();
+        try (var queue = new OffHeapLongQueue()) {
+            var layerStarts = new long[16];
+            layerStarts[1] = 1;
+            queue.add(start);
+            table.setDistance(start, 0);
+            for (var depth = 0; layerStarts[depth + 1] > layerStarts[depth]; depth++) {
+                var layerEvent = new LayerExpansionEvent("OffHeapBreadthFirstSearch", depth,
+                        layerStarts[depth + 1] - layerStarts[depth]);
+                var successors = 0L;
+                for (var i = layerStarts[depth]; i < layerStarts[depth + 1]; i++) {
+                    var state = queue.get(i);
+                    if (problem.isGoal(state)) {
+                        event.finish(start, depth, expanded);
+                        return buildPath(problem, state, depth, queue, layerStarts, table);
+                    }
+                    expanded++;
+                    for (var action = 0; action < problem.getActionCount(); action++) {
+                        var successor = problem.getSuccessor(state, action);
+                        if (successor == LongSearchProblem.NONE) {
+                            continue;
+                        }
+                        successors++;
+                        if (table.getDistance(successor) == OffHeapStateTable.NONE) {
+                            if (depth == OffHeapStateTable.MAX_DISTANCE) {
+                                throw new IllegalStateException("Distance overflow");
+                            }
+                            table.setDistance(successor, depth + 1);
+                            table.setParentAction(successor, action);
+                            queue.add(successor);
+                        }
+                    }
+                }
+                layerEvent.finish(successors, queue.size() - layerStarts[depth + 1]);
+                if (depth + 2 == layerStarts.length) {
+                    layerStarts = Arrays.copyOf(layerStarts, 2 * layerStarts.length);
+                }
+                layerStarts[depth + 2] = queue.size();
+            }
+            event.finish(start, -1, expanded);
+            return null;
+        }
+    }
+
+    private static LongSolution buildPath(LongSearchProblem problem, long goal, int depth,
+                                          OffHeapLongQueue queue, long[] layerStarts, OffHeapStateTable table) {
+        var states = new long[depth + 1];
+        var actions = new int[depth];
+        states[depth] = goal;
+        for (var d = depth; d > 0; d--) {
+            var action = table.getParentAction(states[d]);
+            var parent = LongSearchProblem.NONE;
+            for (var i = layerStarts[d - 1]; i < layerStarts[d] && parent == LongSearchProblem.NONE; i++) {
+                if (problem.getSuccessor(queue.get(i), action) == states[d]) {
+                    parent = queue.get(i);
+                }
+            }
+            if (parent == LongSearchProblem.NONE) {
+                throw new IllegalStateException("Inconsistent table");
+            }
+            states[d - 1] = parent;
+            actions[d - 1] = action;
+        }
+        return new LongSolution(states, actions);
+    }
+
+    public static void main(String[] args) {
+        var result = new OffHeapBreadthFirstSearch().search(new PuzzleState());
+        if (result != null) {
+            System.out.println("Solution:");
+            new BreadthFirstSearch().printPath(result);
+        } else {
+            System.out.println("No solution");
+        }
+    }
+
+}
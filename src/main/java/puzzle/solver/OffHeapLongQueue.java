@@ -0,0 +1,86 @@
+package puzzle.solver;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A growable first-in-first-out sequence of {@code long} values stored outside the Java heap.
+ * <p>
+ * The values are appended to direct byte buffers of fixed size, a new buffer is
+ * allocated whenever the last one is full, thus growing never copies the values
+ * and the number of values is not limited by the maximum size of a buffer. The
+ * values are read back by their position, so the queue can be scanned several
+ * times. The buffers are released by {@link #close()} without waiting for the
+ * garbage collector, after which the queue must not be used.
+ */
+class OffHeapLongQueue implements AutoCloseable {
+
+    private static final int CHUNK_SHIFT = 17;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private List<ByteBuffer> chunks = new ArrayList<>();
+    private long size;
+
+    /**
+     * Appends a value.
+     *
+     * @param value the value
+     */
+    void add(long value) {
+        checkOpen();
+        var offset = (int) (size & (CHUNK_SIZE - 1));
+        if (offset == 0) {
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE * Long.BYTES));
+        }
+        chunks.get(chunks.size() - 1).putLong(offset * Long.BYTES, value);
+        size++;
+    }
+
+    /**
+     * {@return the value at the position specified}
+     *
+     * @param index the position of the value in the order of appending
+     */
+    long get(long index) {
+        checkOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(Long.toString(index));
+        }
+        return chunks.get((int) (index >>> CHUNK_SHIFT)).getLong((int) (index & (CHUNK_SIZE - 1)) * Long.BYTES);
+    }
+
+    /**
+     * {@return the number of values}
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * {@return the number of bytes allocated outside the heap}
+     */
+    long getMemoryUsage() {
+        checkOpen();
+        return (long) chunks.size() * CHUNK_SIZE * Long.BYTES;
+    }
+
+    /**
+     * Releases the memory of the queue immediately. Calling this method more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (chunks == null) {
+            return;
+        }
+        chunks.forEach(DirectBuffers::release);
+        chunks = null;
+    }
+
+    private void checkOpen() {
+        if (chunks == null) {
+            throw new IllegalStateException("The queue has been closed");
+        }
+    }
+
+}
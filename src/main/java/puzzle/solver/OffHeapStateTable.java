@@ -0,0 +1,218 @@
+package puzzle.solver;
+
+import puzzle.state.PuzzleState;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Per-state search data stored outside the Java heap.
+ * <p>
+ * For each state, for example a packed state (see {@link PuzzleState#pack()}), the
+ * table holds a distance of two bytes and the action that leads from the parent in
+ * two bits, backed by direct byte buffers. A state has been visited if it has a
+ * distance. Thus large tables neither occupy the heap nor have to be traced by the
+ * garbage collector. The states are split into chunks of a fixed number of states,
+ * each with its own buffers, thus the size of the table is not limited by the
+ * maximum size of a buffer. The memory is released by {@link #close()} without
+ * waiting for the garbage collector, after which the table must not be used.
+ */
+public class OffHeapStateTable implements AutoCloseable {
+
+    /**
+     * The value returned by {@link #getDistance(long)} for states without a distance.
+     */
+    public static final int NONE = 0xFFFF;
+
+    /**
+     * The maximum distance that can be stored.
+     */
+    public static final int MAX_DISTANCE = NONE - 1;
+
+    /**
+     * The maximum number of actions whose numbers can be stored.
+     */
+    public static final int MAX_ACTIONS = 4;
+
+    /**
+     * The binary logarithm of the number of states of a chunk, a chunk of distances takes 128 MiB.
+     */
+    static final int DEFAULT_CHUNK_SHIFT = 26;
+
+    private final long stateCount;
+    private final int chunkShift;
+    private final long chunkMask;
+    private ByteBuffer[] distances;
+    private ByteBuffer[] parents;
+
+    /**
+     * Creates an {@code OffHeapStateTable} object, initially no state has a distance.
+     *
+     * @param stateCount the number of states
+     * @throws IllegalArgumentException if the number of states is not positive
+     */
+    public OffHeapStateTable(long stateCount) {
+        this(stateCount, DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * Creates an {@code OffHeapStateTable} object with chunks of the size specified.
+     *
+     * @param stateCount the number of states
+     * @param chunkShift the binary logarithm of the number of states of a chunk, between 2 and 29
+     */
+    OffHeapStateTable(long stateCount, int chunkShift) {
+        if (stateCount <= 0 || chunkShift < 2 || chunkShift > 29) {
+            throw new IllegalArgumentException();
+        }
+        var chunkCount = ((stateCount - 1) >>> chunkShift) + 1;
+        if (chunkCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException();
+        }
+        this.stateCount = stateCount;
+        this.chunkShift = chunkShift;
+        chunkMask = (1L << chunkShift) - 1;
+        distances = new ByteBuffer[(int) chunkCount];
+        parents = new ByteBuffer[(int) chunkCount];
+        try {
+            for (var chunk = 0; chunk < chunkCount; chunk++) {
+                var states = (int) Math.min(1L << chunkShift, stateCount - ((long) chunk << chunkShift));
+                distances[chunk] = ByteBuffer.allocateDirect(2 * states);
+                parents[chunk] = ByteBuffer.allocateDirect((states + 3) / 4);
+                fill(distances[chunk]);
+            }
+        } catch (RuntimeException | Error e) {
+            close();
+            throw e;
+        }
+    }
+
+    private static void fill(ByteBuffer buffer) {
+        var i = 0;
+        for (; i + Long.BYTES <= buffer.capacity(); i += Long.BYTES) {
+            buffer.putLong(i, -1L);
+        }
+        for (; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) -1);
+        }
+    }
+
+    /**
+     * {@return a table for all the packed states of a board of the size specified}
+     * The number of states is the number of squares to the power of the number of pieces.
+     *
+     * @param boardSize the number of rows and columns of the board
+     */
+    public static OffHeapStateTable forBoardSize(int boardSize) {
+        if (boardSize < 1) {
+            throw new IllegalArgumentException();
+        }
+        var cells = (long) boardSize * boardSize;
+        return new OffHeapStateTable(Math.multiplyExact(cells * cells, cells * cells));
+    }
+
+    /**
+     * {@return the number of states}
+     */
+    public long getStateCount() {
+        return stateCount;
+    }
+
+    /**
+     * {@return the number of bytes allocated outside the heap}
+     */
+    public long getMemoryUsage() {
+        checkOpen();
+        var bytes = 0L;
+        for (var chunk = 0; chunk < distances.length; chunk++) {
+            bytes += distances[chunk].capacity() + parents[chunk].capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * {@return the distance of the state specified, or {@link #NONE} if it has not been set}
+     *
+     * @param state a state
+     */
+    public int getDistance(long state) {
+        checkIndex(state);
+        return Short.toUnsignedInt(distances[(int) (state >>> chunkShift)].getShort(2 * (int) (state & chunkMask)));
+    }
+
+    /**
+     * Sets the distance of the state specified.
+     *
+     * @param state a state
+     * @param distance a distance between {@code 0} and {@link #MAX_DISTANCE}
+     */
+    public void setDistance(long state, int distance) {
+        checkIndex(state);
+        if (distance < 0 || distance > MAX_DISTANCE) {
+            throw new IllegalArgumentException();
+        }
+        distances[(int) (state >>> chunkShift)].putShort(2 * (int) (state & chunkMask), (short) distance);
+    }
+
+    /**
+     * {@return the number of the action that leads from the parent of the state specified}
+     * The result is meaningful only if the action has been set.
+     *
+     * @param state a state
+     */
+    public int getParentAction(long state) {
+        checkIndex(state);
+        var index = (int) (state & chunkMask);
+        return (parents[(int) (state >>> chunkShift)].get(index >>> 2) >>> (2 * (index & 3))) & 3;
+    }
+
+    /**
+     * Sets the number of the action that leads from the parent of the state specified.
+     *
+     * @param state a state
+     * @param action a number between {@code 0} and {@code MAX_ACTIONS - 1}
+     */
+    public void setParentAction(long state, int action) {
+        checkIndex(state);
+        if (action < 0 || action >= MAX_ACTIONS) {
+            throw new IllegalArgumentException();
+        }
+        var buffer = parents[(int) (state >>> chunkShift)];
+        var index = (int) (state & chunkMask);
+        var shift = 2 * (index & 3);
+        var b = buffer.get(index >>> 2) & ~(3 << shift) | action << shift;
+        buffer.put(index >>> 2, (byte) b);
+    }
+
+    /**
+     * Releases the memory of the table immediately. Calling this method more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (distances == null) {
+            return;
+        }
+        for (var chunk = 0; chunk < distances.length; chunk++) {
+            if (distances[chunk] != null) {
+                DirectBuffers.release(distances[chunk]);
+            }
+            if (parents[chunk] != null) {
+                DirectBuffers.release(parents[chunk]);
+            }
+        }
+        distances = parents = null;
+    }
+
+    private void checkOpen() {
+        if (distances == null) {
+            throw new IllegalStateException("The table has been closed");
+        }
+    }
+
+    private void checkIndex(long state) {
+        checkOpen();
+        if (state < 0 || state >= stateCount) {
+            throw new IndexOutOfBoundsException(Long.toString(state));
+        }
+    }
+
+}
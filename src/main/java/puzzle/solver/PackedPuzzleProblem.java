@@ -0,0 +1,95 @@
+package puzzle.solver;
+
+import puzzle.search.LongSearchProblem;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+/**
+ * The puzzle as a {@link LongSearchProblem} whose states are packed by {@link PuzzleState#pack()}.
+ * Actions are the ordinals of the directions, and the transitions are looked up in
+ * {@link LookupTables}, thus no objects are created during the search.
+ */
+public class PackedPuzzleProblem implements LongSearchProblem {
+
+    private static final int CELLS = PuzzleState.BOARD_SIZE * PuzzleState.BOARD_SIZE;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final long initialState;
+    private final CostModel costModel;
+    private final LookupTables tables = LookupTables.getInstance();
+
+    /**
+     * Creates a {@code PackedPuzzleProblem} object in which every move costs {@code 1}.
+     *
+     * @param initialState the initial state
+     */
+    public PackedPuzzleProblem(PuzzleState initialState) {
+        this(initialState, CostModel.UNIT);
+    }
+
+    /**
+     * Creates a {@code PackedPuzzleProblem} object.
+     *
+     * @param initialState the initial state
+     * @param costModel the cost model of the moves
+     */
+    public PackedPuzzleProblem(PuzzleState initialState, CostModel costModel) {
+        this.initialState = initialState.pack();
+        this.costModel = costModel;
+    }
+
+    @Override
+    public long getInitialState() {
+        return initialState;
+    }
+
+    @Override
+    public int getActionCount() {
+        return DIRECTIONS.length;
+    }
+
+    @Override
+    public long getSuccessor(long state, int action) {
+        return tables.getSuccessor((int) state, DIRECTIONS[action]);
+    }
+
+    @Override
+    public boolean isGoal(long state) {
+        return tables.getDistance((int) state) == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The shoes carried by the block are those whose positions differ in the state
+     * and its successor, since a shoe moves only together with the block.
+     */
+    @Override
+    public int getCost(long state, int action) {
+        var successor = getSuccessor(state, action);
+        var carried = 0;
+        var divisor = 1;
+        for (var i = PuzzleState.BLACK_SHOE; i > PuzzleState.BLOCK; i--) {
+            if (state / divisor % CELLS != successor / divisor % CELLS) {
+                carried |= 1 << i;
+            }
+            divisor *= CELLS;
+        }
+        return costModel.getCost(DIRECTIONS[action], carried);
+    }
+
+    /**
+     * {@return the Manhattan distance between the red and the blue shoe}
+     *
+     * @see PuzzleProblem#getHeuristic(PuzzleState)
+     */
+    @Override
+    public int getHeuristic(long state) {
+        var blue = (int) (state / CELLS % CELLS);
+        var red = (int) (state / (CELLS * CELLS) % CELLS);
+        return Math.abs(red / PuzzleState.BOARD_SIZE - blue / PuzzleState.BOARD_SIZE)
+                + Math.abs(red % PuzzleState.BOARD_SIZE - blue % PuzzleState.BOARD_SIZE);
+    }
+
+}
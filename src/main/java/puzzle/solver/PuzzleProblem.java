@@ -0,0 +1,89 @@
+package puzzle.solver;
+
+import puzzle.search.SearchProblem;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+
+/**
+ * The puzzle as a {@link SearchProblem}. Actions are the ordinals of the directions.
+ */
+public class PuzzleProblem implements SearchProblem<PuzzleState> {
+
+    private final PuzzleState initialState;
+    private final CostModel costModel;
+
+    /**
+     * Creates a {@code PuzzleProblem} object in which every move costs {@code 1}.
+     *
+     * @param initialState the initial state
+     */
+    public PuzzleProblem(PuzzleState initialState) {
+        this(initialState, CostModel.UNIT);
+    }
+
+    /**
+     * Creates a {@code PuzzleProblem} object.
+     *
+     * @param initialState the initial state
+     * @param costModel the cost model of the moves
+     */
+    public PuzzleProblem(PuzzleState initialState, CostModel costModel) {
+        this.initialState = initialState.clone();
+        this.costModel = costModel;
+    }
+
+    @Override
+    public PuzzleState getInitialState() {
+        return initialState;
+    }
+
+    @Override
+    public int getActionCount() {
+        return Direction.values().length;
+    }
+
+    @Override
+    public PuzzleState getSuccessor(PuzzleState state, int action) {
+        var direction = Direction.values()[action];
+        if (! state.canMove(direction)) {
+            return null;
+        }
+        var successor = state.clone();
+        successor.move(direction);
+        return successor;
+    }
+
+    @Override
+    public boolean isGoal(PuzzleState state) {
+        return state.isGoal();
+    }
+
+    @Override
+    public int getCost(PuzzleState state, int action) {
+        var direction = Direction.values()[action];
+        return costModel.getCost(direction, state.clone().move(direction));
+    }
+
+    /**
+     * {@return the Manhattan distance between the red and the blue shoe}
+     * A move changes the position of at most one of them by one square, or moves
+     * both of them together, thus the heuristic is consistent.
+     */
+    @Override
+    public int getHeuristic(PuzzleState state) {
+        return getManhattanDistance(state);
+    }
+
+    /**
+     * {@return the Manhattan distance between the red and the blue shoe of the state specified}
+     *
+     * @param state a state
+     * @see #getHeuristic(PuzzleState)
+     */
+    public static int getManhattanDistance(PuzzleState state) {
+        var red = state.getPosition(PuzzleState.RED_SHOE);
+        var blue = state.getPosition(PuzzleState.BLUE_SHOE);
+        return Math.abs(red.row() - blue.row()) + Math.abs(red.col() - blue.col());
+    }
+
+}
@@ -32,6 +32,13 @@ public enum Direction {
         return colChange;
     }
 
+    /**
+     * {@return the direction opposite to this direction}
+     */
+    public Direction getOpposite() {
+        return of(-rowChange, -colChange);
+    }
+
     /**
      * {@return the direction that corresponds to the coordinate changes specified}
      *
@@ -0,0 +1,10 @@
+package puzzle.state;
+
+/**
+ * Represents a state from which the block can be moved into another state.
+ *
+ * @param state the state before the move
+ * @param direction the direction to which the block is moved in {@code state}
+ */
+public record Predecessor(PuzzleState state, Direction direction) {
+}
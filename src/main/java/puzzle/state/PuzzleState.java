@@ -1,7 +1,9 @@
 package puzzle.state;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.StringJoiner;
 
 /**
@@ -59,17 +61,21 @@ public class PuzzleState implements Cloneable {
     }
 
     private void checkPositions(Position[] positions) {
-        if (positions.length != 4) {
+        if (! isValid(positions)) {
             throw new IllegalArgumentException();
         }
+    }
+
+    private boolean isValid(Position[] positions) {
+        if (positions.length != 4) {
+            return false;
+        }
         for (var position : positions) {
             if (! isOnBoard(position)) {
-                throw new IllegalArgumentException();
+                return false;
             }
         }
-        if (positions[BLUE_SHOE].equals(positions[BLACK_SHOE])) {
-            throw new IllegalArgumentException();
-        }
+        return ! positions[BLUE_SHOE].equals(positions[BLACK_SHOE]);
     }
 
     /**
@@ -81,6 +87,44 @@ public class PuzzleState implements Cloneable {
         return positions[n].clone();
     }
 
+    /**
+     * {@return the state encoded as a single number}
+     * The position of each piece is represented by the index of its square in
+     * row-major order, and the indices are combined as digits in base
+     * {@code BOARD_SIZE * BOARD_SIZE} with the block being the most significant digit.
+     * Thus, the natural ordering of packed states is consistent with
+     * {@link #equals(Object)}.
+     *
+     * @see #unpack(long)
+     */
+    public long pack() {
+        var packed = 0L;
+        for (var position : positions) {
+            packed = packed * (BOARD_SIZE * BOARD_SIZE) + position.row() * BOARD_SIZE + position.col();
+        }
+        return packed;
+    }
+
+    /**
+     * {@return the state encoded by the number specified}
+     *
+     * @param packed a number returned by {@link #pack()}
+     * @throws IllegalArgumentException if the number does not encode a valid state
+     */
+    public static PuzzleState unpack(long packed) {
+        var cells = BOARD_SIZE * BOARD_SIZE;
+        var positions = new Position[4];
+        for (var i = positions.length - 1; i >= 0; i--) {
+            var index = (int) Math.floorMod(packed, (long) cells);
+            positions[i] = new Position(index / BOARD_SIZE, index % BOARD_SIZE);
+            packed = Math.floorDiv(packed, (long) cells);
+        }
+        if (packed != 0) {
+            throw new IllegalArgumentException();
+        }
+        return new PuzzleState(positions);
+    }
+
     /**
      * {@return whether the puzzle is solved}
      */
@@ -136,36 +180,43 @@ public class PuzzleState implements Cloneable {
      * Moves the block to the direction specified.
      *
      * @param direction the direction to which the block is moved
+     * @return a bit mask of the shoes carried by the block, where the shoe with index
+     *         {@code i} is represented by the bit {@code 1 << i}, for example,
+     *         {@code 1 << RED_SHOE} if only the red shoe has been carried
      */
-    public void move(Direction direction) {
-        switch (direction) {
+    public int move(Direction direction) {
+        return switch (direction) {
             case UP -> moveUp();
             case RIGHT -> moveRight();
             case DOWN -> moveDown();
             case LEFT -> moveLeft();
-        }
+        };
     }
 
-    private void moveUp() {
+    private int moveUp() {
+        var carried = 0;
         if (haveEqualPositions(BLACK_SHOE, BLOCK)) {
             if (haveEqualPositions(RED_SHOE, BLOCK)) {
                 positions[RED_SHOE].setUp();
+                carried |= 1 << RED_SHOE;
             }
             positions[BLACK_SHOE].setUp();
+            carried |= 1 << BLACK_SHOE;
         }
         positions[BLOCK].setUp();
+        return carried;
     }
 
-    private void moveRight() {
-        move(Direction.RIGHT, RED_SHOE, BLUE_SHOE, BLACK_SHOE);
+    private int moveRight() {
+        return move(Direction.RIGHT, RED_SHOE, BLUE_SHOE, BLACK_SHOE);
     }
 
-    private void moveDown() {
-        move(Direction.DOWN, RED_SHOE, BLUE_SHOE, BLACK_SHOE);
+    private int moveDown() {
+        return move(Direction.DOWN, RED_SHOE, BLUE_SHOE, BLACK_SHOE);
     }
 
-    private void moveLeft() {
-        move(Direction.LEFT, RED_SHOE, BLUE_SHOE);
+    private int moveLeft() {
+        return move(Direction.LEFT, RED_SHOE, BLUE_SHOE);
     }
 
     /**
@@ -174,14 +225,18 @@ public class PuzzleState implements Cloneable {
      *
      * @param direction the direction to which the block is moved
      * @param shoes the shoes that must be moved together with the block
+     * @return a bit mask of the shoes carried by the block
      */
-    private void move(Direction direction, int... shoes) {
+    private int move(Direction direction, int... shoes) {
+        var carried = 0;
         for (var i : shoes) {
             if (haveEqualPositions(i, BLOCK)) {
                 positions[i].setTarget(direction);
+                carried |= 1 << i;
             }
         }
         positions[BLOCK].setTarget(direction);
+        return carried;
     }
 
     /**
@@ -197,6 +252,68 @@ public class PuzzleState implements Cloneable {
         return legalMoves;
     }
 
+    /**
+     * {@return the list of states from which the block can be moved into this state,
+     * each paired with the direction of the move}
+     * The result is exactly the inverse of {@link #move(Direction)}: a state {@code p}
+     * and a direction {@code d} are returned if and only if {@code p.canMove(d)} holds
+     * and moving the block of {@code p} to {@code d} results in this state.
+     */
+    public List<Predecessor> getPredecessors() {
+        var predecessors = new ArrayList<Predecessor>();
+        for (var direction : Direction.values()) {
+            var from = positions[BLOCK].getTarget(direction.getOpposite());
+            if (! isOnBoard(from)) {
+                continue;
+            }
+            // Only the shoes at the same position with the block might have been carried
+            var carried = 0;
+            for (var i = RED_SHOE; i <= BLACK_SHOE; i++) {
+                if (haveEqualPositions(i, BLOCK)) {
+                    carried |= 1 << i;
+                }
+            }
+            for (var subset = carried; ; subset = (subset - 1) & carried) {
+                var candidate = getPredecessor(direction, from, subset);
+                if (candidate != null) {
+                    predecessors.add(new Predecessor(candidate, direction));
+                }
+                if (subset == 0) {
+                    break;
+                }
+            }
+        }
+        return predecessors;
+    }
+
+    /**
+     * {@return the state with the block and the shoes specified placed back to the position
+     * given if moving its block to the direction specified results in this state, {@code null} otherwise}
+     *
+     * @param direction the direction of the move
+     * @param from the position of the block before the move
+     * @param shoes a bit mask of the shoes that are assumed to be carried by the block
+     */
+    private PuzzleState getPredecessor(Direction direction, Position from, int shoes) {
+        var candidatePositions = deepClone(positions);
+        candidatePositions[BLOCK] = from.clone();
+        for (var i = RED_SHOE; i <= BLACK_SHOE; i++) {
+            if ((shoes & (1 << i)) != 0) {
+                candidatePositions[i] = from.clone();
+            }
+        }
+        if (! isValid(candidatePositions)) {
+            return null;
+        }
+        var candidate = new PuzzleState(candidatePositions);
+        if (! candidate.canMove(direction)) {
+            return null;
+        }
+        var successor = candidate.clone();
+        successor.move(direction);
+        return equals(successor) ? candidate : null;
+    }
+
     private boolean haveEqualPositions(int i, int j) {
         return positions[i].equals(positions[j]);
     }
@@ -0,0 +1,118 @@
+package puzzle.tables;
+
+import puzzle.jfr.TableCacheEvent;
+import puzzle.jfr.TableLoadEvent;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Provides the transitions between and the goal distances of the states of the puzzle.
+ * The tables are generated at build time from the rules implemented by
+ * {@link PuzzleState} and are loaded from a classpath resource at runtime.
+ * States are identified by the number returned by {@link PuzzleState#pack()}.
+ */
+public final class LookupTables {
+
+    /**
+     * The value returned for missing transitions and for unreachable goals.
+     */
+    public static final int NONE = -1;
+
+    private static volatile LookupTables instance;
+
+    private final int[] successors;
+    private final int[] distances;
+
+    private LookupTables(int[] successors, int[] distances) {
+        this.successors = successors;
+        this.distances = distances;
+    }
+
+    /**
+     * {@return the lookup tables, the tables are loaded at the first invocation}
+     */
+    public static LookupTables getInstance() {
+        var result = instance;
+        if (result != null) {
+            TableCacheEvent.record(TableConstants.RESOURCE, true);
+            return result;
+        }
+        synchronized (LookupTables.class) {
+            result = instance;
+            TableCacheEvent.record(TableConstants.RESOURCE, result != null);
+            if (result == null) {
+                result = instance = load();
+            }
+            return result;
+        }
+    }
+
+    private static LookupTables load() {
+        var event = new TableLoadEvent(TableConstants.RESOURCE);
+        var data = new byte[(TableConstants.STATE_COUNT * 4 + TableConstants.STATE_COUNT) * Integer.BYTES];
+        var resource = LookupTables.class.getClassLoader().getResourceAsStream(TableConstants.RESOURCE);
+        if (resource == null) {
+            throw new IllegalStateException("Missing resource " + TableConstants.RESOURCE);
+        }
+        try (var in = new DataInputStream(new GZIPInputStream(resource))) {
+            in.readFully(data);
+            if (in.read() >= 0) {
+                throw new IllegalStateException("Unexpected data in " + TableConstants.RESOURCE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (TableBuilder.checksum(data) != TableConstants.CHECKSUM) {
+            throw new IllegalStateException("Checksum mismatch in " + TableConstants.RESOURCE);
+        }
+        var buffer = ByteBuffer.wrap(data).asIntBuffer();
+        var successors = new int[TableConstants.STATE_COUNT * 4];
+        var distances = new int[TableConstants.STATE_COUNT];
+        buffer.get(successors);
+        buffer.get(distances);
+        event.finish(data.length);
+        return new LookupTables(successors, distances);
+    }
+
+    /**
+     * {@return the number of values that {@link PuzzleState#pack()} can return}
+     */
+    public int getStateCount() {
+        return TableConstants.STATE_COUNT;
+    }
+
+    /**
+     * {@return the maximum number of moves needed to reach a goal state}
+     */
+    public int getMaxDistance() {
+        return TableConstants.MAX_DISTANCE;
+    }
+
+    /**
+     * {@return the packed state resulting from moving the block to the direction specified,
+     * or {@link #NONE} if the move is not legal}
+     *
+     * @param state a packed state
+     * @param direction the direction to which the block is moved
+     */
+    public int getSuccessor(int state, Direction direction) {
+        return successors[state * 4 + direction.ordinal()];
+    }
+
+    /**
+     * {@return the minimum number of moves needed to reach a goal state from the state
+     * specified, or {@link #NONE} if no goal state is reachable}
+     *
+     * @param state a packed state
+     */
+    public int getDistance(int state) {
+        return distances[state];
+    }
+
+}
@@ -0,0 +1,119 @@
+package puzzle.tables;
+
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.zip.CRC32;
+
+/**
+ * Computes the lookup tables from the rules implemented by {@link PuzzleState}.
+ * This class is used by {@link TableGenerator} at build time, it must not depend on
+ * the generated sources.
+ */
+final class TableBuilder {
+
+    /**
+     * The number of values that {@link PuzzleState#pack()} can return.
+     */
+    static final int STATE_COUNT = (int) Math.pow(PuzzleState.BOARD_SIZE * PuzzleState.BOARD_SIZE, 4);
+
+    /**
+     * Marks missing entries in the tables.
+     */
+    static final int NONE = -1;
+
+    /**
+     * The packed successor of each packed state for each direction, in the order of {@link Direction#values()}.
+     */
+    final int[] successors = new int[STATE_COUNT * 4];
+
+    /**
+     * The minimum number of moves to a goal state from each packed state.
+     */
+    final int[] distances = new int[STATE_COUNT];
+
+    private TableBuilder() {
+        Arrays.fill(successors, NONE);
+        Arrays.fill(distances, NONE);
+        var open = new LinkedList<PuzzleState>();
+        for (var packed = 0; packed < STATE_COUNT; packed++) {
+            PuzzleState state;
+            try {
+                state = PuzzleState.unpack(packed);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            for (var direction : state.getLegalMoves()) {
+                var successor = state.clone();
+                successor.move(direction);
+                successors[packed * 4 + direction.ordinal()] = (int) successor.pack();
+            }
+            if (state.isGoal()) {
+                distances[packed] = 0;
+                open.add(state);
+            }
+        }
+        // Breadth-first search backwards from all the goal states
+        while (! open.isEmpty()) {
+            var state = open.removeFirst();
+            var distance = distances[(int) state.pack()];
+            for (var predecessor : state.getPredecessors()) {
+                var packed = (int) predecessor.state().pack();
+                if (distances[packed] == NONE) {
+                    distances[packed] = distance + 1;
+                    open.addLast(predecessor.state());
+                }
+            }
+        }
+    }
+
+    /**
+     * {@return the tables computed from the rules of the puzzle}
+     */
+    static TableBuilder build() {
+        return new TableBuilder();
+    }
+
+    /**
+     * {@return the maximum of the finite distances}
+     */
+    int getMaxDistance() {
+        return Arrays.stream(distances).max().orElse(NONE);
+    }
+
+    /**
+     * {@return the uncompressed binary representation of the tables}
+     */
+    byte[] toByteArray() {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            for (var successor : successors) {
+                out.writeInt(successor);
+            }
+            for (var distance : distances) {
+                out.writeInt(distance);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * {@return the CRC-32 checksum of the data specified}
+     *
+     * @param data the uncompressed binary representation of the tables
+     */
+    static long checksum(byte[] data) {
+        var crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+}
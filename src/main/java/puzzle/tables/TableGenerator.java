@@ -0,0 +1,83 @@
+package puzzle.tables;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generates the lookup tables as a compressed resource and the {@code TableConstants}
+ * class that describes them. The generator is run by the build in the
+ * {@code generate-sources} phase.
+ */
+public class TableGenerator {
+
+    /**
+     * The name of the resource that contains the tables.
+     */
+    static final String RESOURCE = "puzzle/tables/tables.bin.gz";
+
+    private static final String CONSTANTS_TEMPLATE = """
+            package puzzle.tables;
+
+            /**
+             * Describes the lookup tables. This class is generated by {@link TableGenerator}, do not edit.
+             */
+            final class TableConstants {
+
+                /**
+                 * The name of the resource that contains the tables.
+                 */
+                static final String RESOURCE = "%s";
+
+                /**
+                 * The number of values that {@link puzzle.state.PuzzleState#pack()} can return.
+                 */
+                static final int STATE_COUNT = %d;
+
+                /**
+                 * The maximum number of moves needed to reach a goal state.
+                 */
+                static final int MAX_DISTANCE = %d;
+
+                /**
+                 * The CRC-32 checksum of the uncompressed tables.
+                 */
+                static final long CHECKSUM = %dL;
+
+                private TableConstants() {
+                }
+
+            }
+            """;
+
+    /**
+     * Generates the tables.
+     *
+     * @param resourceDirectory the root directory of the generated resource
+     * @param sourceDirectory the root directory of the generated sources
+     * @throws IOException if an I/O error occurs
+     */
+    public static void generate(Path resourceDirectory, Path sourceDirectory) throws IOException {
+        var tables = TableBuilder.build();
+        var data = tables.toByteArray();
+        var resource = resourceDirectory.resolve(RESOURCE);
+        Files.createDirectories(resource.getParent());
+        try (var out = new GZIPOutputStream(Files.newOutputStream(resource))) {
+            out.write(data);
+        }
+        var source = sourceDirectory.resolve("puzzle/tables/TableConstants.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, String.format(CONSTANTS_TEMPLATE,
+                RESOURCE,
+                TableBuilder.STATE_COUNT,
+                tables.getMaxDistance(),
+                TableBuilder.checksum(data)));
+    }
+
+    public static void main(String[] args) throws IOException {
+        generate(Paths.get(args[0]), Paths.get(args[1]));
+    }
+
+}
@@ -0,0 +1,75 @@
+package puzzle.engine;
+
+import org.junit.jupiter.api.Test;
+import puzzle.state.Direction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DifferentialHarnessTest {
+
+    /**
+     * An engine that moves the block to the wrong square in a single state.
+     */
+    private static class BrokenEngine extends PackedEngine {
+
+        private final long broken;
+
+        BrokenEngine(long broken) {
+            this.broken = broken;
+        }
+
+        @Override
+        public long move(long state, Direction direction) {
+            var result = super.move(state, direction);
+            return state == broken ? (result + 9 * 9 * 9) % getStateCount() : result;
+        }
+
+    }
+
+    @Test
+    void compare_equivalent() {
+        var harness = new DifferentialHarness(7, 1);
+        for (var engine : new MoveEngine[] {new PackedEngine(), new TableEngine()}) {
+            var report = harness.compare(new ReferenceEngine(), engine);
+            assertTrue(report.isEquivalent(), report::toString);
+            assertEquals(5832, report.statesCompared());
+            assertTrue(report.transitionsCompared() > 0);
+            assertTrue(report.solverRuns() > 0);
+            assertTrue(report.candidateNanos() > 0);
+            assertTrue(report.getSpeedup().orElseThrow() > 0);
+        }
+    }
+
+    @Test
+    void compare_notBenchmarked() {
+        var report = new DifferentialHarness(50, 0).compare(new ReferenceEngine(), new TableEngine());
+        assertTrue(report.isEquivalent(), report::toString);
+        assertEquals(0, report.referenceNanos());
+        assertEquals(0, report.candidateNanos());
+        assertTrue(report.getSpeedup().isEmpty());
+        assertTrue(report.toString().endsWith("not benchmarked"), report::toString);
+    }
+
+    @Test
+    void compare_mismatch() {
+        var reference = new ReferenceEngine();
+        var state = PackedEngine.pack(4, 6, 4, 2);
+        var report = new DifferentialHarness(1, 0).compare(reference, new BrokenEngine(state));
+        assertFalse(report.isEquivalent());
+        assertTrue(report.firstMismatch().startsWith("move(" + state + ","), report::firstMismatch);
+        assertEquals(0, report.solverRuns());
+    }
+
+    @Test
+    void compare_stateCount() {
+        var report = new DifferentialHarness(1, 0).compare(new ReferenceEngine(), new PackedEngine() {
+            @Override
+            public int getStateCount() {
+                return 0;
+            }
+        });
+        assertFalse(report.isEquivalent());
+        assertEquals(0, report.statesCompared());
+    }
+
+}
@@ -0,0 +1,56 @@
+package puzzle.engine;
+
+import org.junit.jupiter.api.Test;
+import puzzle.state.Direction;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleEngineTest {
+
+    @Test
+    void standard_shouldBeEquivalentToReference() {
+        var report = new DifferentialHarness(13, 0).compare(new ReferenceEngine(), new RuleEngine(RuleSpec.standard()));
+        assertTrue(report.isEquivalent(), report::toString);
+        assertEquals("rules:standard", report.candidate());
+    }
+
+    @Test
+    void variant_shouldDifferFromReference() throws IOException {
+        String text;
+        try (var in = getClass().getClassLoader().getResourceAsStream("puzzle/engine/standard.rules")) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        text = text.replace("carry LEFT red blue", "carry LEFT red blue black");
+        var report = new DifferentialHarness(1, 0).compare(new ReferenceEngine(), new RuleEngine(RuleSpec.parse(text)));
+        assertFalse(report.isEquivalent());
+        assertTrue(report.firstMismatch().contains("LEFT"), report::firstMismatch);
+    }
+
+    @Test
+    void minimal() {
+        var engine = new RuleEngine(RuleSpec.parse(RuleSpecTest.MINIMAL));
+        assertEquals(16, engine.getStateCount());
+        // The stone at square 0 and the coin at square 2, below it
+        var state = 0 * 4 + 2;
+        assertTrue(engine.isValid(state));
+        assertFalse(engine.isGoal(state));
+        assertEquals(1 << Direction.RIGHT.ordinal() | 1 << Direction.DOWN.ordinal(), engine.getLegalMoves(state));
+        assertEquals(1 * 4 + 2, engine.move(state, Direction.RIGHT));
+        assertEquals(2 * 4 + 2, engine.move(state, Direction.DOWN));
+        assertTrue(engine.isGoal(2 * 4 + 2));
+        // The coin is carried down, but not to the right
+        assertEquals(2 * 4 + 2, engine.move(0, Direction.DOWN));
+        assertEquals(1 * 4 + 0, engine.move(0, Direction.RIGHT));
+        assertEquals(0, engine.getLegalMoves(3 * 4 + 0));
+    }
+
+    @Test
+    void invalidSuccessor() {
+        var text = RuleSpecTest.MINIMAL + "\ninvalid coin == stone";
+        assertThrows(IllegalArgumentException.class, () -> new RuleEngine(RuleSpec.parse(text)));
+    }
+
+}
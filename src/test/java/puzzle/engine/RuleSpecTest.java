@@ -0,0 +1,71 @@
+package puzzle.engine;
+
+import org.junit.jupiter.api.Test;
+import puzzle.state.Direction;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleSpecTest {
+
+    static final String MINIMAL = String.join("\n",
+            "board 2",
+            "pieces stone coin",
+            "mover stone",
+            "goal stone == coin",
+            "move RIGHT if empty",
+            "move DOWN if coin == target | !(! empty)",
+            "carry DOWN coin if coin != target");
+
+    @Test
+    void standard() {
+        var spec = RuleSpec.standard();
+        assertEquals("standard", spec.getName());
+        assertEquals(3, spec.getBoardSize());
+        assertEquals(List.of("block", "red", "blue", "black"), spec.getPieces());
+        assertEquals(0, spec.getMover());
+        assertEquals(2, spec.getCarries(Direction.UP).size());
+        assertEquals(3, spec.getCarries(Direction.RIGHT).size());
+    }
+
+    @Test
+    void parse() {
+        var spec = RuleSpec.parse(MINIMAL);
+        assertEquals("rules", spec.getName());
+        assertEquals(2, spec.getBoardSize());
+        assertNull(spec.getMove(Direction.UP));
+        assertTrue(spec.getMove(Direction.DOWN).test(new int[] {0, 2}, 2));
+        assertFalse(spec.getMove(Direction.RIGHT).test(new int[] {0, 1}, 1));
+        assertTrue(spec.getGoal().test(new int[] {1, 1}, -1));
+        assertFalse(spec.getInvalid().test(new int[] {1, 1}, -1));
+        assertEquals(1, spec.getCarries(Direction.DOWN).get(0).piece());
+    }
+
+    @Test
+    void parse_precedence() {
+        var spec = RuleSpec.parse(MINIMAL.replace("goal stone == coin",
+                "goal stone == coin | stone != coin & ! stone != coin"));
+        assertTrue(spec.getGoal().test(new int[] {1, 1}, -1));
+        assertFalse(spec.getGoal().test(new int[] {1, 2}, -1));
+    }
+
+    @Test
+    void parse_invalid() {
+        assertMessage("Line 1: Unknown statement boards", "boards 2");
+        assertMessage("Line 4: target is allowed only in moves and carries",
+                MINIMAL.replace("goal stone == coin", "goal stone == target"));
+        assertMessage("Line 5: Unknown direction NORTH", MINIMAL.replace("RIGHT", "NORTH"));
+        assertMessage("Line 6: Expected ) instead of carry", MINIMAL.replace("!(! empty)", "!(! empty carry"));
+        assertMessage("Line 2: Invalid piece coin", MINIMAL.replace("stone coin", "coin coin"));
+        assertMessage("Line 1: Unexpected character $", "board $");
+        assertMessage("The board, the pieces, the mover and the goal must be specified",
+                MINIMAL.replace("goal stone == coin", ""));
+    }
+
+    private static void assertMessage(String message, String text) {
+        var e = assertThrows(IllegalArgumentException.class, () -> RuleSpec.parse(text));
+        assertEquals(message, e.getMessage());
+    }
+
+}
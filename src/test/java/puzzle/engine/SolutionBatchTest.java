@@ -0,0 +1,54 @@
+package puzzle.engine;
+
+import org.junit.jupiter.api.Test;
+import puzzle.state.Direction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionBatchTest {
+
+    @Test
+    void add() {
+        var batch = new SolutionBatch();
+        var moves = new int[100];
+        for (var i = 0; i < moves.length; i++) {
+            moves[i] = (i * 7 + i / 3) % 4;
+        }
+        for (var solution = 0; solution < 50; solution++) {
+            batch.add(solution, moves, solution * 2);
+        }
+        batch.add(1234, Direction.DOWN, Direction.LEFT);
+        assertEquals(51, batch.size());
+        for (var solution = 0; solution < 50; solution++) {
+            assertEquals(solution, batch.getStart(solution));
+            assertEquals(solution * 2, batch.getLength(solution));
+            for (var i = 0; i < solution * 2; i++) {
+                assertEquals(moves[i], batch.getMove(solution, i));
+            }
+        }
+        assertEquals(1234, batch.getStart(50));
+        assertEquals(2, batch.getLength(50));
+        assertEquals(Direction.DOWN.ordinal(), batch.getMove(50, 0));
+        assertEquals(Direction.LEFT.ordinal(), batch.getMove(50, 1));
+        assertTrue(batch.getMemoryUsage() > 0);
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.getStart(51));
+        assertThrows(IllegalArgumentException.class, () -> batch.add(0, new int[] {4}, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.getMove(50, 2));
+    }
+
+    @Test
+    void add_afterRejected() {
+        var batch = new SolutionBatch();
+        assertThrows(IllegalArgumentException.class, () -> batch.add(0, new int[] {3, 3, 3, 7}, 4));
+        assertThrows(IllegalArgumentException.class, () -> batch.add(0, new int[] {3}, 2));
+        assertEquals(0, batch.size());
+        batch.add(1, new int[] {0, 0, 0}, 3);
+        assertEquals(1, batch.size());
+        assertEquals(1, batch.getStart(0));
+        assertEquals(3, batch.getLength(0));
+        for (var i = 0; i < 3; i++) {
+            assertEquals(0, batch.getMove(0, i));
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package puzzle.engine;
+
+import org.junit.jupiter.api.Test;
+import puzzle.engine.SolutionVerifier.Verdict;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionVerifierTest {
+
+    /**
+     * {@return the directions of an optimal solution from the state specified}
+     */
+    static List<Direction> optimalSolution(int state) {
+        var tables = LookupTables.getInstance();
+        var directions = new ArrayList<Direction>();
+        while (tables.getDistance(state) > 0) {
+            for (var direction : Direction.values()) {
+                var successor = tables.getSuccessor(state, direction);
+                if (successor != LookupTables.NONE && tables.getDistance(successor) == tables.getDistance(state) - 1) {
+                    directions.add(direction);
+                    state = successor;
+                    break;
+                }
+            }
+        }
+        return directions;
+    }
+
+    @Test
+    void verify() {
+        var start = (int) new PuzzleState().pack();
+        var optimal = optimalSolution(start);
+        assertEquals(LookupTables.getInstance().getDistance(start), optimal.size());
+        var illegal = Arrays.stream(Direction.values())
+                .filter(direction -> LookupTables.getInstance().getSuccessor(start, direction) == LookupTables.NONE)
+                .findFirst()
+                .orElseThrow();
+        var detour = new ArrayList<Direction>();
+        var first = optimal.get(0);
+        detour.add(first);
+        detour.add(first.getOpposite());
+        detour.addAll(optimal);
+        assertEquals(start, LookupTables.getInstance().getSuccessor(
+                LookupTables.getInstance().getSuccessor(start, first), first.getOpposite()));
+
+        var batch = new SolutionBatch();
+        batch.add(start, optimal.toArray(new Direction[0]));
+        batch.add(start, detour.toArray(new Direction[0]));
+        batch.add(start, optimal.subList(0, optimal.size() - 1).toArray(new Direction[0]));
+        batch.add(start, illegal);
+        batch.add(0);
+        batch.add(-1);
+
+        for (var parallel : new boolean[] {false, true}) {
+            var verifier = new SolutionVerifier(parallel);
+            assertEquals(Verdict.OPTIMAL, verifier.verify(batch, 0));
+            assertEquals(Verdict.NON_OPTIMAL, verifier.verify(batch, 1));
+            assertEquals(Verdict.UNSOLVED, verifier.verify(batch, 2));
+            assertEquals(Verdict.ILLEGAL_MOVE, verifier.verify(batch, 3));
+            assertEquals(Verdict.INVALID_START, verifier.verify(batch, 4));
+            assertEquals(Verdict.INVALID_START, verifier.verify(batch, 5));
+            var report = verifier.verify(batch);
+            assertEquals(6, report.solutions());
+            assertEquals(3L * optimal.size() + 2 - 1 + 1, report.moves());
+            assertEquals(1, report.optimal());
+            assertEquals(1, report.nonOptimal());
+            assertEquals(4, report.invalid());
+            assertEquals(2, report.firstInvalid());
+            assertFalse(report.isCorrect());
+        }
+    }
+
+    @Test
+    void verify_allStates() {
+        var tables = LookupTables.getInstance();
+        var distances = new int[tables.getStateCount()];
+        var batch = new SolutionBatch();
+        for (var state = 0; state < tables.getStateCount(); state++) {
+            distances[state] = tables.getDistance(state);
+            if (distances[state] >= 0) {
+                batch.add(state, optimalSolution(state).toArray(new Direction[0]));
+            }
+        }
+        assertEquals(2005, batch.size());
+        for (var engine : new MoveEngine[] {new ReferenceEngine(), new PackedEngine(), new TableEngine()}) {
+            var report = new SolutionVerifier(engine, distances, true).verify(batch);
+            assertTrue(report.isCorrect(), report::toString);
+            assertEquals(batch.size(), report.optimal());
+            assertEquals(-1, report.firstInvalid());
+            assertTrue(report.getMovesPerSecond() > 0);
+        }
+    }
+
+    @Test
+    void constructor_invalidDistances() {
+        assertThrows(IllegalArgumentException.class, () -> new SolutionVerifier(new TableEngine(), new int[10], false));
+    }
+
+}
@@ -0,0 +1,63 @@
+package puzzle.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import puzzle.solver.BreadthFirstSearch;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventsTest {
+
+    @TempDir
+    Path directory;
+
+    List<RecordedEvent> record(Runnable runnable) throws IOException {
+        try (var recording = new Recording()) {
+            recording.enable("puzzle.Search");
+            recording.enable("puzzle.LayerExpansion");
+            recording.enable("puzzle.TableCache");
+            recording.start();
+            runnable.run();
+            recording.stop();
+            var file = directory.resolve("recording.jfr");
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        }
+    }
+
+    @Test
+    void breadthFirstSearch() throws IOException {
+        var events = record(() -> new BreadthFirstSearch().search(new PuzzleState()));
+        var searches = events.stream()
+                .filter(event -> event.getEventType().getName().equals("puzzle.Search"))
+                .toList();
+        assertEquals(1, searches.size());
+        var search = searches.get(0);
+        assertEquals("BreadthFirstSearch", search.getString("algorithm"));
+        assertEquals(new PuzzleState().toString(), search.getString("startState"));
+        var layers = events.stream()
+                .filter(event -> event.getEventType().getName().equals("puzzle.LayerExpansion"))
+                .toList();
+        assertEquals(search.getInt("depth"), layers.size());
+        assertEquals(search.getLong("nodesExpanded"),
+                layers.stream().mapToLong(event -> event.getLong("layerSize")).sum());
+    }
+
+    @Test
+    void tableCache() throws IOException {
+        LookupTables.getInstance();
+        var events = record(LookupTables::getInstance);
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).getBoolean("hit"));
+    }
+
+}
@@ -0,0 +1,53 @@
+package puzzle.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixHeapTest {
+
+    @Test
+    void remove_shouldReturnEntriesInKeyOrder() {
+        var random = new Random(42);
+        var heap = new RadixHeap();
+        var reference = new PriorityQueue<Long>();
+        var lastKey = 0L;
+        for (var i = 0; i < 100_000; i++) {
+            if (reference.isEmpty() || random.nextInt(3) > 0) {
+                var key = lastKey + (random.nextBoolean() ? random.nextInt(16) : random.nextInt(1 << 20));
+                heap.add(key, (int) key);
+                reference.add(key);
+            } else {
+                lastKey = reference.remove();
+                assertEquals(lastKey, heap.peekKey());
+                assertEquals(lastKey, heap.remove());
+            }
+        }
+        while (! reference.isEmpty()) {
+            assertEquals((long) reference.remove(), heap.remove());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void add_shouldRejectDecreasingKeys() {
+        var heap = new RadixHeap();
+        heap.add(5, 0);
+        heap.add(7, 1);
+        assertEquals(0, heap.remove());
+        assertThrows(IllegalArgumentException.class, () -> heap.add(4, 2));
+        heap.add(5, 3);
+        assertEquals(3, heap.remove());
+        assertEquals(1, heap.remove());
+    }
+
+    @Test
+    void remove_empty() {
+        assertThrows(NoSuchElementException.class, () -> new RadixHeap().remove());
+    }
+
+}
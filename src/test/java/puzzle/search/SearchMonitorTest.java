@@ -0,0 +1,162 @@
+package puzzle.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchMonitorTest {
+
+    /**
+     * An infinite problem without goal states, the searches terminate only if a limit is reached.
+     */
+    LongSearchProblem infinite = new LongSearchProblem() {
+
+        @Override
+        public long getInitialState() {
+            return 0;
+        }
+
+        @Override
+        public int getActionCount() {
+            return 2;
+        }
+
+        @Override
+        public long getSuccessor(long state, int action) {
+            return 2 * state + 1 + action;
+        }
+
+        @Override
+        public boolean isGoal(long state) {
+            return false;
+        }
+
+    };
+
+    SearchProblem<Long> boxedInfinite = new SearchProblem<>() {
+
+        @Override
+        public Long getInitialState() {
+            return 0L;
+        }
+
+        @Override
+        public int getActionCount() {
+            return 2;
+        }
+
+        @Override
+        public Long getSuccessor(Long state, int action) {
+            return 2 * state + 1 + action;
+        }
+
+        @Override
+        public boolean isGoal(Long state) {
+            return false;
+        }
+
+    };
+
+    @Test
+    void check_cancelled() {
+        var token = new CancellationToken();
+        var monitor = new SearchMonitor("test", 0, SearchLimits.NONE.withCancellationToken(token));
+        assertNull(monitor.check());
+        token.cancel();
+        assertEquals(SearchResult.Status.CANCELLED, monitor.check());
+    }
+
+    @Test
+    void check_maxVisitedStates() {
+        var monitor = new SearchMonitor("test", 0, SearchLimits.NONE.withMaxVisitedStates(2));
+        assertTrue(monitor.visited());
+        assertTrue(monitor.visited());
+        assertNull(monitor.check());
+        assertFalse(monitor.visited());
+        assertEquals(SearchResult.Status.STATE_LIMIT_REACHED, monitor.check());
+        assertEquals(SearchResult.Status.STATE_LIMIT_REACHED, monitor.poll());
+        assertEquals(2, monitor.unsolved(SearchResult.Status.STATE_LIMIT_REACHED).statesVisited());
+    }
+
+    @Test
+    void check_timeout() {
+        var monitor = new SearchMonitor("test", 0, SearchLimits.NONE.withTimeout(Duration.ZERO));
+        assertEquals(SearchResult.Status.TIMED_OUT, monitor.check());
+    }
+
+    @Test
+    void breadthFirst() {
+        var result = new BreadthFirst().search(infinite, SearchLimits.NONE.withMaxVisitedStates(1000));
+        assertEquals(SearchResult.Status.STATE_LIMIT_REACHED, result.status());
+        assertTrue(result.isAborted());
+        assertNull(result.solution());
+        assertEquals(1000, result.statesVisited());
+        assertTrue(result.nodesExpanded() > 0);
+        assertEquals(7, result.depth()); // the nodes of depth 8 are being expanded
+        assertEquals(SearchResult.Status.TIMED_OUT,
+                new BreadthFirst().search(boxedInfinite, SearchLimits.NONE.withTimeout(Duration.ofMillis(10))).status());
+    }
+
+    @Test
+    void aStar() {
+        var token = new CancellationToken();
+        token.cancel();
+        var result = new AStar().search(infinite, SearchLimits.NONE.withCancellationToken(token));
+        assertEquals(SearchResult.Status.CANCELLED, result.status());
+        assertEquals(1, result.statesVisited());
+        var boxedResult = new AStar().search(boxedInfinite, SearchLimits.NONE.withMaxVisitedStates(100));
+        assertEquals(SearchResult.Status.STATE_LIMIT_REACHED, boxedResult.status());
+        assertEquals(100, boxedResult.statesVisited());
+    }
+
+    @Test
+    void iterativeDeepeningAStar() {
+        assertEquals(SearchResult.Status.TIMED_OUT,
+                new IterativeDeepeningAStar().search(infinite, SearchLimits.NONE.withTimeout(Duration.ofMillis(10))).status());
+        var result = new IterativeDeepeningAStar().search(boxedInfinite, SearchLimits.NONE.withMaxVisitedStates(100));
+        assertEquals(SearchResult.Status.STATE_LIMIT_REACHED, result.status());
+        assertEquals(100, result.statesVisited());
+    }
+
+    @Test
+    void iterativeDeepeningAStar_concurrentSearches() throws Exception {
+        var search = new IterativeDeepeningAStar();
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<SearchResult<LongSolution>>>();
+            for (var i = 1; i <= 8; i++) {
+                var limits = SearchLimits.NONE.withMaxVisitedStates(1000 * i);
+                futures.add(executor.submit(() -> search.search(infinite, limits)));
+            }
+            for (var i = 1; i <= 8; i++) {
+                var result = futures.get(i - 1).get();
+                assertEquals(SearchResult.Status.STATE_LIMIT_REACHED, result.status());
+                assertEquals(1000 * i, result.statesVisited());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void hashDistributedAStar() {
+        try (var search = new HashDistributedAStar(3)) {
+            assertEquals(SearchResult.Status.TIMED_OUT,
+                    search.search(infinite, SearchLimits.NONE.withTimeout(Duration.ofMillis(10))).status());
+            var limited = search.search(infinite, SearchLimits.NONE.withMaxVisitedStates(100));
+            assertEquals(SearchResult.Status.STATE_LIMIT_REACHED, limited.status());
+            assertEquals(100, limited.statesVisited());
+            var token = new CancellationToken();
+            token.cancel();
+            var result = search.search(infinite, SearchLimits.NONE.withCancellationToken(token));
+            assertEquals(SearchResult.Status.CANCELLED, result.status());
+            assertNull(result.solution());
+        }
+    }
+
+}
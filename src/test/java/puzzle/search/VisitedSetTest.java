@@ -0,0 +1,76 @@
+package puzzle.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VisitedSetTest {
+
+    static void assertExact(VisitedSet visited, int stateCount) {
+        for (var state = 0L; state < stateCount; state += 3) {
+            assertFalse(visited.contains(state));
+            assertTrue(visited.add(state));
+            assertFalse(visited.add(state));
+        }
+        for (var state = 0L; state < stateCount; state++) {
+            assertEquals(state % 3 == 0, visited.contains(state));
+        }
+        assertEquals((stateCount + 2) / 3, visited.size());
+        assertEquals(0, visited.getOmissionProbability());
+    }
+
+    @Test
+    void exact() {
+        assertExact(VisitedSet.exact(), 100_000);
+    }
+
+    @Test
+    void dense() {
+        var visited = VisitedSet.dense(100_000);
+        assertExact(visited, 100_000);
+        assertEquals(100_032 / 8, visited.getMemoryUsage());
+        assertThrows(IllegalArgumentException.class, () -> visited.add(100_000));
+    }
+
+    @Test
+    void bitstate_large() {
+        var visited = VisitedSet.bitstate(1 << 20, 3);
+        for (var state = 0L; state < 100_000; state++) {
+            assertTrue(visited.add(state * 6561));
+        }
+        for (var state = 0L; state < 100_000; state++) {
+            assertTrue(visited.contains(state * 6561));
+            assertFalse(visited.add(state * 6561));
+        }
+        assertEquals(100_000, visited.size());
+        assertEquals(1 << 20, visited.getMemoryUsage());
+        assertTrue(visited.getOmissionProbability() < 0.01);
+    }
+
+    @Test
+    void bitstate_small() {
+        var memoryBytes = 1024;
+        var hashCount = 2;
+        var visited = new BitstateVisitedSet(memoryBytes, hashCount);
+        var stateCount = 4000;
+        var omitted = 0;
+        for (var state = 0L; state < stateCount; state++) {
+            if (! visited.add(state)) {
+                omitted++;
+            }
+        }
+        assertEquals(stateCount - omitted, visited.size());
+        assertTrue(omitted > 0);
+        // The final omission probability is an upper bound of the rate during the insertions
+        var estimate = BitstateVisitedSet.estimateOmissionProbability(stateCount, memoryBytes, hashCount);
+        assertEquals(estimate, visited.getOmissionProbability(), 0.05);
+        assertTrue((double) omitted / stateCount < visited.getOmissionProbability());
+    }
+
+    @Test
+    void bitstate_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> VisitedSet.bitstate(7, 1));
+        assertThrows(IllegalArgumentException.class, () -> VisitedSet.bitstate(8, 0));
+    }
+
+}
@@ -0,0 +1,123 @@
+package puzzle.session;
+
+import org.junit.jupiter.api.Test;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionStoreTest {
+
+    @Test
+    void move_undo_redo_shouldMatchObjectHistory() {
+        var store = new SessionStore();
+        var random = new Random(1);
+        for (var round = 0; round < 20; round++) {
+            var session = store.create(new PuzzleState());
+            var history = new ArrayList<PuzzleState>(List.of(new PuzzleState()));
+            var cursor = 0;
+            for (var i = 0; i < 2000; i++) {
+                var operation = random.nextInt(6);
+                if (operation < 3) {
+                    var direction = Direction.values()[random.nextInt(4)];
+                    var state = history.get(cursor).clone();
+                    var legal = state.canMove(direction);
+                    assertEquals(legal, store.move(session, direction));
+                    if (legal) {
+                        state.move(direction);
+                        history.subList(cursor + 1, history.size()).clear();
+                        history.add(state);
+                        cursor++;
+                    }
+                } else if (operation < 5) {
+                    assertEquals(cursor > 0, store.undo(session));
+                    cursor = Math.max(0, cursor - 1);
+                } else {
+                    assertEquals(cursor < history.size() - 1, store.redo(session));
+                    cursor = Math.min(history.size() - 1, cursor + 1);
+                }
+                assertEquals(history.get(cursor), store.getState(session));
+                assertEquals(cursor, store.getMoveCount(session));
+            }
+        }
+    }
+
+    @Test
+    void undo_shouldRestoreIrreversibleMoves() {
+        var store = new SessionStore();
+        // The block carries the red and the blue shoe down, but not back up
+        var state = PuzzleState.unpack(((0 * 9 + 0) * 9 + 0) * 9 + 1);
+        var session = store.create(state);
+        assertTrue(store.move(session, Direction.DOWN));
+        assertTrue(store.undo(session));
+        assertEquals(state, store.getState(session));
+        assertFalse(store.undo(session));
+        assertTrue(store.redo(session));
+        assertEquals(Direction.DOWN, store.getMove(session, 0));
+        assertFalse(store.redo(session));
+    }
+
+    @Test
+    void move_shouldDiscardUndoneMoves() {
+        var store = new SessionStore();
+        var session = store.create(new PuzzleState());
+        assertTrue(store.move(session, Direction.RIGHT));
+        assertTrue(store.move(session, Direction.RIGHT));
+        assertTrue(store.undo(session));
+        assertTrue(store.move(session, Direction.DOWN));
+        assertFalse(store.redo(session));
+        assertEquals(2, store.getMoveCount(session));
+        assertEquals(Direction.DOWN, store.getMove(session, 1));
+    }
+
+    @Test
+    void close() {
+        var store = new SessionStore();
+        var session = store.create(new PuzzleState());
+        store.move(session, Direction.RIGHT);
+        store.close(session);
+        assertThrows(IllegalArgumentException.class, () -> store.getState(session));
+        assertThrows(IllegalArgumentException.class, () -> store.close(session));
+        assertEquals(0, store.size());
+        assertThrows(IllegalArgumentException.class, () -> store.move(-1, Direction.UP));
+    }
+
+    @Test
+    void concurrentSessions() {
+        var store = new SessionStore();
+        var initial = new PuzzleState();
+        var sessions = IntStream.range(0, 10_000).parallel().map(i -> {
+            var session = store.create(initial);
+            store.move(session, Direction.RIGHT);
+            store.move(session, Direction.DOWN);
+            store.undo(session);
+            return session;
+        }).toArray();
+        assertEquals(sessions.length, IntStream.of(sessions).distinct().count());
+        var expected = initial.clone();
+        expected.move(Direction.RIGHT);
+        for (var session : sessions) {
+            assertEquals(expected, store.getState(session));
+        }
+        assertEquals(sessions.length, store.size());
+    }
+
+    @Test
+    void getMemoryUsage() {
+        var store = new SessionStore();
+        var random = new Random(2);
+        for (var i = 0; i < 10_000; i++) {
+            var session = store.create(new PuzzleState());
+            for (var j = 0; j < 100; j++) {
+                store.move(session, Direction.values()[random.nextInt(4)]);
+            }
+        }
+        assertTrue(store.getMemoryUsage() / store.size() < 128);
+    }
+
+}
@@ -0,0 +1,55 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzle.state.Position;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BeamSearchTest {
+
+    @Test
+    void search_shouldProveOptimality() {
+        var initial = new PuzzleState();
+        var result = new BeamSearch(1).search(initial, Duration.ofSeconds(30));
+        assertTrue(result.optimal());
+        assertEquals(1 << (result.iterations() - 1), result.beamWidth());
+        ExternalBreadthFirstSearchTest.assertValidPath(initial, result.solution());
+        assertEquals(LookupTables.getInstance().getDistance((int) initial.pack()),
+                ExternalBreadthFirstSearchTest.getDepth(result.solution()));
+    }
+
+    @Test
+    void search_noSolution() {
+        var initial = new PuzzleState(new Position(0, 0),
+                new Position(1, 0),
+                new Position(0, 1),
+                new Position(0, 0));
+        var result = new BeamSearch(4).search(initial, Duration.ofSeconds(30));
+        assertNull(result.solution());
+        assertTrue(result.optimal());
+    }
+
+    @Test
+    void search_shouldRespectDeadline() {
+        var result = new BeamSearch(1).search(new PuzzleState(), Duration.ZERO);
+        assertEquals(0, result.iterations());
+        assertNull(result.solution());
+        assertFalse(result.optimal());
+    }
+
+    @Test
+    void search_goal() {
+        var initial = new PuzzleState(new Position(1, 1),
+                new Position(1, 1),
+                new Position(1, 1),
+                new Position(1, 2));
+        var result = new BeamSearch(1).search(initial, Duration.ZERO);
+        assertTrue(result.optimal());
+        assertEquals(initial, result.solution().getState());
+    }
+
+}
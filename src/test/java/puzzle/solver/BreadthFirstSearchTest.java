@@ -0,0 +1,55 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzle.search.CancellationToken;
+import puzzle.search.SearchLimits;
+import puzzle.search.SearchResult;
+import puzzle.state.Position;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BreadthFirstSearchTest {
+
+    @Test
+    void search() {
+        var initial = new PuzzleState();
+        var result = new BreadthFirstSearch().search(initial, SearchLimits.NONE);
+        assertEquals(SearchResult.Status.SOLVED, result.status());
+        ExternalBreadthFirstSearchTest.assertValidPath(initial, result.solution());
+        assertEquals(LookupTables.getInstance().getDistance((int) initial.pack()), result.depth());
+        assertEquals(result.depth(), ExternalBreadthFirstSearchTest.getDepth(result.solution()));
+    }
+
+    @Test
+    void search_noSolution() {
+        var initial = new PuzzleState(new Position(0, 0),
+                new Position(1, 0),
+                new Position(0, 1),
+                new Position(0, 0));
+        var result = new BreadthFirstSearch().search(initial, SearchLimits.NONE);
+        assertEquals(SearchResult.Status.NO_SOLUTION, result.status());
+        assertEquals(1, result.statesVisited());
+        assertNull(new BreadthFirstSearch().search(initial));
+    }
+
+    @Test
+    void search_aborted() {
+        var token = new CancellationToken();
+        token.cancel();
+        var bfs = new BreadthFirstSearch();
+        assertEquals(SearchResult.Status.CANCELLED,
+                bfs.search(new PuzzleState(), SearchLimits.NONE.withCancellationToken(token)).status());
+        assertEquals(SearchResult.Status.TIMED_OUT,
+                bfs.search(new PuzzleState(), SearchLimits.NONE.withTimeout(Duration.ZERO)).status());
+        var result = bfs.search(new PuzzleState(), SearchLimits.NONE.withMaxVisitedStates(50));
+        assertEquals(SearchResult.Status.STATE_LIMIT_REACHED, result.status());
+        assertTrue(result.isAborted());
+        assertEquals(50, result.statesVisited());
+        assertTrue(result.depth() > 0);
+    }
+
+}
@@ -0,0 +1,99 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzle.state.Position;
+import puzzle.state.PuzzleState;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistributedBreadthFirstSearchTest {
+
+    static List<String> toPath(Node node) {
+        var path = new LinkedList<String>();
+        for (var n = node; n != null; n = n.getParent()) {
+            path.addFirst(n.toString());
+        }
+        return path;
+    }
+
+    @Test
+    void search_threads() throws IOException {
+        var initial = new PuzzleState();
+        var expected = toPath(new BreadthFirstSearch().search(initial));
+        for (var workerCount = 1; workerCount <= 4; workerCount++) {
+            assertEquals(expected, toPath(new DistributedBreadthFirstSearch(workerCount, false).search(initial)));
+        }
+    }
+
+    @Test
+    void search_sampleStates() throws IOException {
+        var search = new DistributedBreadthFirstSearch(3, false);
+        for (var packed = 1L; packed < 9 * 9 * 9 * 9; packed += 97) {
+            if (packed % 9 == (packed / 9) % 9) {
+                continue; // the blue and the black shoe are at the same position
+            }
+            var initial = PuzzleState.unpack(packed);
+            assertEquals(toPath(new BreadthFirstSearch().search(initial)), toPath(search.search(initial)));
+        }
+    }
+
+    @Test
+    void search_processes() throws IOException {
+        var initial = new PuzzleState();
+        var expected = toPath(new BreadthFirstSearch().search(initial));
+        assertEquals(expected, toPath(new DistributedBreadthFirstSearch(3, true).search(initial)));
+    }
+
+    @Test
+    void search_noSolution() throws IOException {
+        var initial = new PuzzleState(new Position(0, 0),
+                new Position(1, 0),
+                new Position(0, 1),
+                new Position(0, 0));
+        assertNull(new DistributedBreadthFirstSearch(2, false).search(initial));
+    }
+
+    @Test
+    void worker_unknownParent() throws IOException {
+        try (var server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            var worker = new Thread(new BreadthFirstSearchWorker(InetAddress.getLoopbackAddress(), server.getLocalPort()));
+            worker.setDaemon(true);
+            worker.start();
+            try (var socket = server.accept()) {
+                var in = new DataInputStream(socket.getInputStream());
+                var out = new DataOutputStream(socket.getOutputStream());
+                DistributedBreadthFirstSearch.expect(in, DistributedBreadthFirstSearch.HELLO);
+                var port = in.readInt();
+                out.writeByte(DistributedBreadthFirstSearch.INIT);
+                out.writeInt(0);
+                out.writeInt(1);
+                out.writeInt(port);
+                out.writeLong(new PuzzleState().pack());
+                DistributedBreadthFirstSearch.expect(in, DistributedBreadthFirstSearch.READY);
+                out.writeByte(DistributedBreadthFirstSearch.PARENT);
+                out.writeLong(1);
+                var e = assertThrows(IOException.class,
+                        () -> DistributedBreadthFirstSearch.expect(in, DistributedBreadthFirstSearch.PARENT_REPLY));
+                assertEquals("Unknown state 1", e.getMessage());
+                out.writeByte(DistributedBreadthFirstSearch.SHUTDOWN);
+            }
+        }
+    }
+
+    @Test
+    void getOwner() {
+        for (var state = 0L; state < 1000; state++) {
+            var owner = DistributedBreadthFirstSearch.getOwner(state, 3);
+            assertTrue(owner >= 0 && owner < 3);
+        }
+    }
+
+}
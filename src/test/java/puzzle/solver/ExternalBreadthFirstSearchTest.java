@@ -0,0 +1,115 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import puzzle.state.Position;
+import puzzle.state.PuzzleState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalBreadthFirstSearchTest {
+
+    @TempDir
+    Path directory;
+
+    static int getDepth(Node node) {
+        var depth = 0;
+        for (var n = node; n.getParent() != null; n = n.getParent()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    static void assertValidPath(PuzzleState initial, Node node) {
+        assertTrue(node.getState().isGoal());
+        for (var n = node; n.getParent() != null; n = n.getParent()) {
+            var state = n.getParent().getState().clone();
+            assertTrue(state.canMove(n.getDirection()));
+            state.move(n.getDirection());
+            assertEquals(n.getState(), state);
+        }
+        var root = node;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        assertEquals(initial, root.getState());
+    }
+
+    @Test
+    void search() throws IOException {
+        var initial = new PuzzleState();
+        var result = new ExternalBreadthFirstSearch(directory, 16 * 1024).search(initial);
+        assertValidPath(initial, result);
+        assertEquals(getDepth(new BreadthFirstSearch().search(initial)), getDepth(result));
+    }
+
+    @Test
+    void search_withLocality() throws IOException {
+        var initial = new PuzzleState();
+        var bfs = new ExternalBreadthFirstSearch(directory, 16 * 1024);
+        bfs.setLocality(2);
+        var result = bfs.search(initial);
+        assertValidPath(initial, result);
+        assertEquals(getDepth(new BreadthFirstSearch().search(initial)), getDepth(result));
+    }
+
+    @Test
+    void search_noSolution() throws IOException {
+        var initial = new PuzzleState(new Position(0, 0),
+                new Position(1, 0),
+                new Position(0, 1),
+                new Position(0, 0));
+        assertNull(new ExternalBreadthFirstSearch(directory, 16 * 1024).search(initial));
+    }
+
+    @Test
+    void search_noSolutionWithLocality() throws IOException {
+        // 289 states are reachable, but none of them is a goal
+        var initial = new PuzzleState(new Position(0, 0),
+                new Position(2, 1),
+                new Position(0, 0),
+                new Position(0, 1));
+        var bfs = new ExternalBreadthFirstSearch(directory, 16 * 1024);
+        bfs.setLocality(1);
+        assertNull(bfs.search(initial));
+    }
+
+    @Test
+    void search_shouldResume() throws IOException {
+        var initial = new PuzzleState();
+        var bfs = new ExternalBreadthFirstSearch(directory, 16 * 1024);
+        var expected = getDepth(bfs.search(initial));
+        // Simulate a crash after the completion of the fifth layer
+        Files.writeString(directory.resolve("checkpoint.properties"),
+                String.format("start=%d%ndepth=4%n", initial.pack()));
+        Files.writeString(directory.resolve("run-5-0.bin"), "garbage");
+        var result = bfs.search(initial);
+        assertValidPath(initial, result);
+        assertEquals(expected, getDepth(result));
+        assertFalse(Files.exists(directory.resolve("run-5-0.bin")));
+    }
+
+    @Test
+    void search_corruptedCheckpoint() throws IOException {
+        var initial = new PuzzleState();
+        var expected = getDepth(new BreadthFirstSearch().search(initial));
+        var checkpoint = directory.resolve("checkpoint.properties");
+        for (var content : new String[] {
+                "",
+                String.format("start=%d%n", initial.pack()),
+                String.format("start=%d%ndepth=four%n", initial.pack()),
+                String.format("start=%d%ndepth=-3%n", initial.pack()),
+                "start=\\u12\ndepth=0\n",
+        }) {
+            Files.writeString(checkpoint, content);
+            var result = new ExternalBreadthFirstSearch(directory, 16 * 1024).search(initial);
+            assertValidPath(initial, result);
+            assertEquals(expected, getDepth(result));
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzle.search.VisitedSet;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayeredBreadthFirstSearchTest {
+
+    @Test
+    void layers_shouldMatchDistances() {
+        for (var start : PuzzleProblemTest.sampleStates()) {
+            var distances = new HashMap<Long, Integer>();
+            var open = new ArrayDeque<PuzzleState>();
+            distances.put(start.pack(), 0);
+            open.add(start);
+            while (! open.isEmpty()) {
+                var state = open.remove();
+                for (var direction : state.getLegalMoves()) {
+                    var successor = state.clone();
+                    successor.move(direction);
+                    if (distances.putIfAbsent(successor.pack(), distances.get(state.pack()) + 1) == null) {
+                        open.add(successor);
+                    }
+                }
+            }
+            var layers = LayeredBreadthFirstSearch.layers(start).collect(Collectors.toList());
+            var count = 0;
+            for (var depth = 0; depth < layers.size(); depth++) {
+                var layer = layers.get(depth);
+                assertTrue(layer.length > 0);
+                for (var i = 0; i < layer.length; i++) {
+                    assertEquals(depth, distances.get(layer[i]));
+                    assertTrue(i == 0 || layer[i - 1] < layer[i]);
+                }
+                count += layer.length;
+            }
+            assertEquals(distances.size(), count);
+        }
+    }
+
+    @Test
+    void layers_shouldStopEarly() {
+        var initial = new PuzzleState();
+        var distance = LookupTables.getInstance().getDistance((int) initial.pack());
+        var depth = LayeredBreadthFirstSearch.layers(initial)
+                .takeWhile(layer -> Arrays.stream(layer).noneMatch(state -> PuzzleState.unpack(state).isGoal()))
+                .count();
+        assertEquals(distance, depth);
+        assertArrayEquals(new long[] {initial.pack()}, LayeredBreadthFirstSearch.layers(initial).findFirst().get());
+    }
+
+    @Test
+    void layers_bitstate() {
+        var initial = new PuzzleState();
+        var exact = LayeredBreadthFirstSearch.layers(initial).collect(Collectors.toList());
+        var visited = VisitedSet.bitstate(16 * 1024, 4);
+        var approximate = LayeredBreadthFirstSearch.layers(initial, visited).collect(Collectors.toList());
+        assertEquals(exact.size(), approximate.size());
+        for (var i = 0; i < exact.size(); i++) {
+            assertArrayEquals(exact.get(i), approximate.get(i));
+        }
+        assertEquals(exact.stream().mapToInt(layer -> layer.length).sum(), visited.size());
+        assertTrue(visited.getOmissionProbability() < 1e-6);
+    }
+
+    @Test
+    void next_shouldThrowAfterLastLayer() {
+        var state = PuzzleState.unpack(((0 * 9 + 1) * 9 + 3) * 9 + 0); // no legal moves
+        var iterator = new LayeredBreadthFirstSearch(state);
+        assertTrue(iterator.hasNext());
+        assertArrayEquals(new long[] {state.pack()}, iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+}
@@ -0,0 +1,99 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzle.search.LongSearchProblem;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapBreadthFirstSearchTest {
+
+    @Test
+    void search() {
+        var search = new OffHeapBreadthFirstSearch();
+        for (var state : PuzzleProblemTest.sampleStates()) {
+            var result = search.search(state);
+            var distance = LookupTables.getInstance().getDistance((int) state.pack());
+            if (distance == LookupTables.NONE) {
+                assertNull(result);
+            } else {
+                assertEquals(distance, ExternalBreadthFirstSearchTest.getDepth(result));
+                ExternalBreadthFirstSearchTest.assertValidPath(state, result);
+            }
+        }
+    }
+
+    @Test
+    void search_shouldFillTable() {
+        try (var table = OffHeapStateTable.forBoardSize(PuzzleState.BOARD_SIZE)) {
+            var state = PuzzleState.unpack(((0 * 9 + 0) * 9 + 0) * 9 + 1);
+            new OffHeapBreadthFirstSearch().search(state, table);
+            assertEquals(0, table.getDistance(state.pack()));
+            for (var s = 0L; s < table.getStateCount(); s++) {
+                var distance = table.getDistance(s);
+                if (distance != OffHeapStateTable.NONE && distance > 0) {
+                    var direction = Direction.values()[table.getParentAction(s)];
+                    var found = false;
+                    for (var predecessor : PuzzleState.unpack(s).getPredecessors()) {
+                        found |= predecessor.direction() == direction
+                                && table.getDistance(predecessor.state().pack()) == distance - 1;
+                    }
+                    assertTrue(found);
+                }
+            }
+        }
+    }
+
+    /**
+     * A grid of {@code SIZE x SIZE} cells with the goal in the last cell,
+     * the actions move to a neighbour cell, except into the wall in the middle column.
+     */
+    private static class GridProblem implements LongSearchProblem {
+
+        static final int SIZE = 1000;
+
+        @Override
+        public long getInitialState() {
+            return 0;
+        }
+
+        @Override
+        public int getActionCount() {
+            return 4;
+        }
+
+        @Override
+        public long getSuccessor(long state, int action) {
+            var row = state / SIZE + (action == 0 ? -1 : action == 2 ? 1 : 0);
+            var col = state % SIZE + (action == 1 ? 1 : action == 3 ? -1 : 0);
+            if (row < 0 || row >= SIZE || col < 0 || col >= SIZE || col == SIZE / 2 && row > 0) {
+                return NONE;
+            }
+            return row * SIZE + col;
+        }
+
+        @Override
+        public boolean isGoal(long state) {
+            return state == (long) SIZE * SIZE - 1;
+        }
+
+    }
+
+    @Test
+    void search_largeProblem() {
+        var problem = new GridProblem();
+        try (var table = new OffHeapStateTable((long) GridProblem.SIZE * GridProblem.SIZE)) {
+            var solution = new OffHeapBreadthFirstSearch().search(problem, table);
+            assertEquals(2 * (GridProblem.SIZE - 1), solution.getLength());
+            assertEquals(0, solution.states()[0]);
+            for (var i = 0; i < solution.getLength(); i++) {
+                assertEquals(solution.states()[i + 1], problem.getSuccessor(solution.states()[i], solution.actions()[i]));
+            }
+            assertTrue(problem.isGoal(solution.states()[solution.getLength()]));
+            assertEquals(OffHeapStateTable.NONE, table.getDistance(GridProblem.SIZE + GridProblem.SIZE / 2));
+        }
+    }
+
+}
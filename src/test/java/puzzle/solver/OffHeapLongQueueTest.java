@@ -0,0 +1,36 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapLongQueueTest {
+
+    @Test
+    void add() {
+        try (var queue = new OffHeapLongQueue()) {
+            assertEquals(0, queue.size());
+            for (var i = 0L; i < 300_000; i++) {
+                queue.add(i * 31 - 7);
+            }
+            assertEquals(300_000, queue.size());
+            for (var i = 0L; i < 300_000; i++) {
+                assertEquals(i * 31 - 7, queue.get(i));
+            }
+            assertTrue(queue.getMemoryUsage() >= 300_000L * Long.BYTES);
+            assertThrows(IndexOutOfBoundsException.class, () -> queue.get(300_000));
+            assertThrows(IndexOutOfBoundsException.class, () -> queue.get(-1));
+        }
+    }
+
+    @Test
+    void close() {
+        var queue = new OffHeapLongQueue();
+        queue.add(1);
+        queue.close();
+        queue.close();
+        assertThrows(IllegalStateException.class, () -> queue.get(0));
+        assertThrows(IllegalStateException.class, () -> queue.add(2));
+    }
+
+}
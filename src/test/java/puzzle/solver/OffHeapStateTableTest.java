@@ -0,0 +1,74 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStateTableTest {
+
+    @Test
+    void forBoardSize() {
+        try (var table = OffHeapStateTable.forBoardSize(3)) {
+            assertEquals(6561, table.getStateCount());
+            assertEquals(2 * 6561 + 1641, table.getMemoryUsage());
+        }
+        assertThrows(IllegalArgumentException.class, () -> OffHeapStateTable.forBoardSize(0));
+    }
+
+    @Test
+    void distances() {
+        try (var table = new OffHeapStateTable(101)) {
+            for (var state = 0; state < 101; state++) {
+                assertEquals(OffHeapStateTable.NONE, table.getDistance(state));
+            }
+            table.setDistance(7, OffHeapStateTable.MAX_DISTANCE);
+            table.setDistance(8, 0);
+            assertEquals(OffHeapStateTable.MAX_DISTANCE, table.getDistance(7));
+            assertEquals(0, table.getDistance(8));
+            assertThrows(IllegalArgumentException.class, () -> table.setDistance(9, OffHeapStateTable.NONE));
+        }
+    }
+
+    @Test
+    void parentActions() {
+        try (var table = new OffHeapStateTable(50)) {
+            for (var state = 0; state < 50; state++) {
+                table.setParentAction(state, state % 4);
+            }
+            table.setParentAction(10, 0);
+            for (var state = 0; state < 50; state++) {
+                assertEquals(state == 10 ? 0 : state % 4, table.getParentAction(state));
+            }
+            assertThrows(IllegalArgumentException.class, () -> table.setParentAction(0, OffHeapStateTable.MAX_ACTIONS));
+            assertThrows(IndexOutOfBoundsException.class, () -> table.setParentAction(50, 0));
+        }
+    }
+
+    @Test
+    void chunks() {
+        try (var table = new OffHeapStateTable(4 * 16 + 5, 4)) {
+            assertEquals(2 * 69 + 4 * 4 + 2, table.getMemoryUsage());
+            for (var state = 0; state < 69; state++) {
+                assertEquals(OffHeapStateTable.NONE, table.getDistance(state));
+                table.setDistance(state, 1000 + state);
+                table.setParentAction(state, (state / 3) % 4);
+            }
+            for (var state = 0; state < 69; state++) {
+                assertEquals(1000 + state, table.getDistance(state));
+                assertEquals((state / 3) % 4, table.getParentAction(state));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> table.getDistance(69));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapStateTable(10, 1));
+    }
+
+    @Test
+    void close() {
+        var table = new OffHeapStateTable(10);
+        table.close();
+        table.close();
+        assertThrows(IllegalStateException.class, () -> table.getDistance(0));
+        assertThrows(IllegalStateException.class, () -> table.getParentAction(0));
+    }
+
+}
@@ -0,0 +1,186 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzle.search.AStar;
+import puzzle.search.BreadthFirst;
+import puzzle.search.HashDistributedAStar;
+import puzzle.search.IterativeDeepeningAStar;
+import puzzle.search.LongSolution;
+import puzzle.search.SearchLimits;
+import puzzle.search.SearchResult;
+import puzzle.search.UniformCost;
+import puzzle.search.VisitedSet;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedPuzzleProblemTest {
+
+    static void assertSolution(PuzzleState initial, LongSolution solution) {
+        var distance = LookupTables.getInstance().getDistance((int) initial.pack());
+        if (distance == LookupTables.NONE) {
+            assertNull(solution);
+            return;
+        }
+        assertEquals(distance, solution.getLength());
+        assertEquals(initial.pack(), solution.states()[0]);
+        for (var i = 0; i < solution.getLength(); i++) {
+            var state = PuzzleState.unpack(solution.states()[i]);
+            state.move(Direction.values()[solution.actions()[i]]);
+            assertEquals(solution.states()[i + 1], state.pack());
+        }
+        assertTrue(PuzzleState.unpack(solution.states()[solution.getLength()]).isGoal());
+    }
+
+    @Test
+    void breadthFirst() {
+        for (var state : PuzzleProblemTest.sampleStates()) {
+            assertSolution(state, new BreadthFirst().search(new PackedPuzzleProblem(state)));
+        }
+    }
+
+    @Test
+    void breadthFirst_visitedSets() {
+        for (var state : PuzzleProblemTest.sampleStates()) {
+            var problem = new PackedPuzzleProblem(state);
+            for (var visited : new VisitedSet[] {VisitedSet.dense(6561), VisitedSet.bitstate(64 * 1024, 3)}) {
+                assertSolution(state, new BreadthFirst().search(problem, SearchLimits.NONE, visited).solution());
+            }
+        }
+    }
+
+    @Test
+    void breadthFirst_saturatedBitstate() {
+        // A single bit is set by every state, thus all successors of the initial state are omitted
+        var state = new PuzzleState();
+        var visited = new VisitedSet() {
+
+            private final VisitedSet delegate = VisitedSet.bitstate(8, 1);
+
+            @Override
+            public boolean add(long state) {
+                return delegate.add(0);
+            }
+
+            @Override
+            public boolean contains(long state) {
+                return delegate.contains(0);
+            }
+
+            @Override
+            public long size() {
+                return delegate.size();
+            }
+
+            @Override
+            public double getOmissionProbability() {
+                return delegate.getOmissionProbability();
+            }
+
+            @Override
+            public long getMemoryUsage() {
+                return delegate.getMemoryUsage();
+            }
+
+        };
+        var result = new BreadthFirst().search(new PackedPuzzleProblem(state), SearchLimits.NONE, visited);
+        assertEquals(SearchResult.Status.NO_SOLUTION, result.status());
+        assertEquals(1, result.nodesExpanded());
+        assertEquals(1.0 / 64, visited.getOmissionProbability());
+    }
+
+    @Test
+    void aStar() {
+        for (var state : PuzzleProblemTest.sampleStates()) {
+            assertSolution(state, new AStar().search(new PackedPuzzleProblem(state)));
+        }
+    }
+
+    @Test
+    void iterativeDeepeningAStar() {
+        for (var state : PuzzleProblemTest.sampleStates()) {
+            var distance = LookupTables.getInstance().getDistance((int) state.pack());
+            if (distance != LookupTables.NONE && distance <= 12) {
+                assertSolution(state, new IterativeDeepeningAStar().search(new PackedPuzzleProblem(state)));
+            }
+        }
+    }
+
+    @Test
+    void uniformCost() {
+        var costModel = CostModel.ofCarrying(1, 5);
+        var cheapestCosts = PuzzleProblemTest.cheapestCosts(costModel);
+        for (var state : PuzzleProblemTest.sampleStates()) {
+            assertSolution(state, new UniformCost().search(new PackedPuzzleProblem(state)));
+            var problem = new PackedPuzzleProblem(state, costModel);
+            var solution = new UniformCost().search(problem);
+            var expected = cheapestCosts[(int) state.pack()];
+            if (expected == Long.MAX_VALUE) {
+                assertNull(solution);
+            } else {
+                assertEquals(expected, solution.getCost(problem));
+                assertTrue(problem.isGoal(solution.states()[solution.getLength()]));
+            }
+        }
+    }
+
+    @Test
+    void hashDistributedAStar() {
+        for (var threads : new int[] {1, 2, 5}) {
+            try (var search = new HashDistributedAStar(threads)) {
+                for (var state : PuzzleProblemTest.sampleStates()) {
+                    assertSolution(state, search.search(new PackedPuzzleProblem(state)));
+                }
+            }
+        }
+        try (var search = new HashDistributedAStar(2)) {
+            search.close();
+            assertThrows(IllegalStateException.class, () -> search.search(new PackedPuzzleProblem(new PuzzleState())));
+        }
+    }
+
+    @Test
+    void hashDistributedAStar_carryingCosts() {
+        var costModel = CostModel.ofCarrying(1, 5);
+        var cheapestCosts = PuzzleProblemTest.cheapestCosts(costModel);
+        try (var search = new HashDistributedAStar(4)) {
+            for (var state : PuzzleProblemTest.sampleStates()) {
+                var problem = new PackedPuzzleProblem(state, costModel);
+                var result = search.search(problem, SearchLimits.NONE);
+                var expected = cheapestCosts[(int) state.pack()];
+                if (expected == Long.MAX_VALUE) {
+                    assertEquals(SearchResult.Status.NO_SOLUTION, result.status());
+                } else {
+                    assertEquals(SearchResult.Status.SOLVED, result.status());
+                    assertEquals(expected, result.solution().getCost(problem));
+                    assertTrue(result.nodesExpanded() > 0 || problem.isGoal(state.pack()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void getCost() {
+        var costModel = CostModel.ofCarrying(1, 10);
+        var problem = new PackedPuzzleProblem(new PuzzleState(), costModel);
+        var reference = new PuzzleProblem(new PuzzleState(), costModel);
+        for (var state : PuzzleProblemTest.sampleStates()) {
+            for (var direction : state.getLegalMoves()) {
+                assertEquals(reference.getCost(state, direction.ordinal()),
+                        problem.getCost(state.pack(), direction.ordinal()));
+            }
+        }
+    }
+
+    @Test
+    void getHeuristic() {
+        var problem = new PackedPuzzleProblem(new PuzzleState());
+        var reference = new PuzzleProblem(new PuzzleState());
+        for (var state : PuzzleProblemTest.sampleStates()) {
+            assertEquals(reference.getHeuristic(state), problem.getHeuristic(state.pack()));
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package puzzle.solver;
+
+import org.junit.jupiter.api.Test;
+import puzzle.search.AStar;
+import puzzle.search.BreadthFirst;
+import puzzle.search.IterativeDeepeningAStar;
+import puzzle.search.Solution;
+import puzzle.search.UniformCost;
+import puzzle.state.Direction;
+import puzzle.state.Position;
+import puzzle.state.PuzzleState;
+import puzzle.tables.LookupTables;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleProblemTest {
+
+    static List<PuzzleState> sampleStates() {
+        var states = new ArrayList<PuzzleState>();
+        for (var packed = 0L; packed < 9 * 9 * 9 * 9; packed += 41) {
+            try {
+                states.add(PuzzleState.unpack(packed));
+            } catch (IllegalArgumentException e) {
+                // the blue and the black shoe are at the same position
+            }
+        }
+        states.add(new PuzzleState());
+        return states;
+    }
+
+    static void assertSolution(PuzzleState initial, Solution<PuzzleState> solution) {
+        var distance = LookupTables.getInstance().getDistance((int) initial.pack());
+        if (distance == LookupTables.NONE) {
+            assertNull(solution);
+            return;
+        }
+        assertEquals(distance, solution.getLength());
+        assertEquals(initial, solution.states().get(0));
+        for (var i = 0; i < solution.getLength(); i++) {
+            var state = solution.states().get(i).clone();
+            state.move(Direction.values()[solution.actions()[i]]);
+            assertEquals(solution.states().get(i + 1), state);
+        }
+        assertTrue(solution.states().get(solution.getLength()).isGoal());
+    }
+
+    /**
+     * {@return the minimum cost of reaching a goal state from each packed state
+     * under the cost model specified, or {@code Long.MAX_VALUE} if no goal state is reachable}
+     * The costs are computed by the Bellman-Ford algorithm.
+     */
+    static long[] cheapestCosts(CostModel costModel) {
+        var tables = LookupTables.getInstance();
+        var costs = new long[tables.getStateCount()];
+        Arrays.fill(costs, Long.MAX_VALUE);
+        for (var state = 0; state < costs.length; state++) {
+            if (tables.getDistance(state) == 0) {
+                costs[state] = 0;
+            }
+        }
+        for (var changed = true; changed; ) {
+            changed = false;
+            for (var state = 0; state < costs.length; state++) {
+                for (var direction : Direction.values()) {
+                    var successor = tables.getSuccessor(state, direction);
+                    if (successor == LookupTables.NONE || costs[successor] == Long.MAX_VALUE) {
+                        continue;
+                    }
+                    var carried = PuzzleState.unpack(state).move(direction);
+                    var cost = costs[successor] + costModel.getCost(direction, carried);
+                    if (cost < costs[state]) {
+                        costs[state] = cost;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return costs;
+    }
+
+    @Test
+    void breadthFirst() {
+        for (var state : sampleStates()) {
+            assertSolution(state, new BreadthFirst().search(new PuzzleProblem(state)));
+        }
+    }
+
+    @Test
+    void aStar() {
+        for (var state : sampleStates()) {
+            assertSolution(state, new AStar().search(new PuzzleProblem(state)));
+        }
+    }
+
+    @Test
+    void iterativeDeepeningAStar() {
+        for (var state : sampleStates()) {
+            var distance = LookupTables.getInstance().getDistance((int) state.pack());
+            if (distance != LookupTables.NONE && distance <= 12) {
+                assertSolution(state, new IterativeDeepeningAStar().search(new PuzzleProblem(state)));
+            }
+        }
+    }
+
+    @Test
+    void uniformCost_unitCosts() {
+        for (var state : sampleStates()) {
+            assertSolution(state, new UniformCost().search(new PuzzleProblem(state)));
+        }
+    }
+
+    @Test
+    void uniformCost_carryingCosts() {
+        var costModel = CostModel.ofCarrying(1, 5);
+        var cheapestCosts = cheapestCosts(costModel);
+        for (var state : sampleStates()) {
+            var problem = new PuzzleProblem(state, costModel);
+            var solution = new UniformCost().search(problem);
+            var expected = cheapestCosts[(int) state.pack()];
+            if (expected == Long.MAX_VALUE) {
+                assertNull(solution);
+                continue;
+            }
+            assertEquals(expected, solution.getCost(problem));
+            for (var i = 0; i < solution.getLength(); i++) {
+                assertEquals(solution.states().get(i + 1),
+                        problem.getSuccessor(solution.states().get(i), solution.actions()[i]));
+            }
+            assertTrue(solution.states().get(solution.getLength()).isGoal());
+        }
+    }
+
+    @Test
+    void getCost() {
+        var problem = new PuzzleProblem(new PuzzleState(), CostModel.ofCarrying(2, 3));
+        var state = new PuzzleState(new Position(1, 1), new Position(1, 1),
+                new Position(0, 0), new Position(1, 1));
+        assertEquals(2 + 3 + 3, problem.getCost(state, Direction.UP.ordinal()));
+        assertEquals(2 + 3, problem.getCost(state, Direction.LEFT.ordinal()));
+        assertEquals(1, new PuzzleProblem(state).getCost(state, Direction.UP.ordinal()));
+    }
+
+    @Test
+    void getHeuristic_shouldBeConsistent() {
+        var problem = new PuzzleProblem(new PuzzleState());
+        for (var state : sampleStates()) {
+            for (var action = 0; action < problem.getActionCount(); action++) {
+                var successor = problem.getSuccessor(state, action);
+                if (successor != null) {
+                    assertTrue(problem.getHeuristic(state) <= problem.getHeuristic(successor) + 1);
+                }
+            }
+        }
+    }
+
+}
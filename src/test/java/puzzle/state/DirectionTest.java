@@ -6,6 +6,14 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class DirectionTest {
 
+    @Test
+    void getOpposite() {
+        assertSame(Direction.DOWN, Direction.UP.getOpposite());
+        assertSame(Direction.LEFT, Direction.RIGHT.getOpposite());
+        assertSame(Direction.UP, Direction.DOWN.getOpposite());
+        assertSame(Direction.RIGHT, Direction.LEFT.getOpposite());
+    }
+
     @Test
     void of() {
         assertSame(Direction.UP, Direction.of(-1, 0));
@@ -2,7 +2,9 @@ package puzzle.state;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -46,6 +48,26 @@ class PuzzleStateTest {
         assertFalse(state4.isGoal());
     }
 
+    @Test
+    void pack() {
+        assertEquals(((0 * 9 + 6) * 9 + 4) * 9 + 2, state1.pack());
+        assertEquals(((4 * 9 + 4) * 9 + 4) * 9 + 5, state2.pack());
+    }
+
+    @Test
+    void unpack() {
+        for (var state : allStates()) {
+            assertEquals(state, PuzzleState.unpack(state.pack()));
+        }
+    }
+
+    @Test
+    void unpack_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> PuzzleState.unpack(-1));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleState.unpack(9 * 9 * 9 * 9));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleState.unpack(0));
+    }
+
     @Test
     void canMove_state1() {
         assertFalse(state1.canMove(Direction.UP));
@@ -81,7 +103,7 @@ class PuzzleStateTest {
     @Test
     void move_state1_right() {
         var copy = state1.clone();
-        state1.move(Direction.RIGHT);
+        assertEquals(0, state1.move(Direction.RIGHT));
         assertEquals(copy.getPosition(0).getRight(), state1.getPosition(0));
         assertEquals(copy.getPosition(1), state1.getPosition(1));
         assertEquals(copy.getPosition(2), state1.getPosition(2));
@@ -91,7 +113,7 @@ class PuzzleStateTest {
     @Test
     void move_state1_down() {
         var copy = state1.clone();
-        state1.move(Direction.DOWN);
+        assertEquals(0, state1.move(Direction.DOWN));
         assertEquals(copy.getPosition(0).getDown(), state1.getPosition(0));
         assertEquals(copy.getPosition(1), state1.getPosition(1));
         assertEquals(copy.getPosition(2), state1.getPosition(2));
@@ -101,7 +123,7 @@ class PuzzleStateTest {
     @Test
     void move_state3_up() {
         var copy = state3.clone();
-        state3.move(Direction.UP);
+        assertEquals(0, state3.move(Direction.UP));
         assertEquals(copy.getPosition(0).getUp(), state3.getPosition(0));
         assertEquals(copy.getPosition(1), state3.getPosition(1));
         assertEquals(copy.getPosition(2), state3.getPosition(2));
@@ -111,7 +133,7 @@ class PuzzleStateTest {
     @Test
     void move_state3_right() {
         var copy = state3.clone();
-        state3.move(Direction.RIGHT);
+        assertEquals(1 << PuzzleState.BLUE_SHOE, state3.move(Direction.RIGHT));
         assertEquals(copy.getPosition(0).getRight(), state3.getPosition(0));
         assertEquals(copy.getPosition(1), state3.getPosition(1));
         assertEquals(copy.getPosition(2).getRight(), state3.getPosition(2));
@@ -121,7 +143,7 @@ class PuzzleStateTest {
     @Test
     void move_state3_down() {
         var copy = state3.clone();
-        state3.move(Direction.DOWN);
+        assertEquals(1 << PuzzleState.BLUE_SHOE, state3.move(Direction.DOWN));
         assertEquals(copy.getPosition(0).getDown(), state3.getPosition(0));
         assertEquals(copy.getPosition(1), state3.getPosition(1));
         assertEquals(copy.getPosition(2).getDown(), state3.getPosition(2));
@@ -131,13 +153,28 @@ class PuzzleStateTest {
     @Test
     void move_state3_left() {
         var copy = state3.clone();
-        state3.move(Direction.LEFT);
+        assertEquals(1 << PuzzleState.BLUE_SHOE, state3.move(Direction.LEFT));
         assertEquals(copy.getPosition(0).getLeft(), state3.getPosition(0));
         assertEquals(copy.getPosition(1), state3.getPosition(1));
         assertEquals(copy.getPosition(2).getLeft(), state3.getPosition(2));
         assertEquals(copy.getPosition(3), state3.getPosition(3));
     }
 
+    @Test
+    void move_shouldReturnCarriedShoes() {
+        for (var state : allStates()) {
+            for (var direction : state.getLegalMoves()) {
+                var successor = state.clone();
+                var carried = successor.move(direction);
+                for (var i = PuzzleState.RED_SHOE; i <= PuzzleState.BLACK_SHOE; i++) {
+                    var moved = ! state.getPosition(i).equals(successor.getPosition(i));
+                    assertEquals(moved, (carried & (1 << i)) != 0);
+                }
+                assertEquals(0, carried & (1 << PuzzleState.BLOCK));
+            }
+        }
+    }
+
     @Test
     void getLegalMoves() {
         assertEquals(EnumSet.of(Direction.DOWN, Direction.RIGHT), state1.getLegalMoves());
@@ -146,6 +183,82 @@ class PuzzleStateTest {
         assertEquals(EnumSet.noneOf(Direction.class), state4.getLegalMoves());
     }
 
+    static List<PuzzleState> allStates() {
+        var states = new ArrayList<PuzzleState>();
+        var size = PuzzleState.BOARD_SIZE * PuzzleState.BOARD_SIZE;
+        for (var block = 0; block < size; block++) {
+            for (var red = 0; red < size; red++) {
+                for (var blue = 0; blue < size; blue++) {
+                    for (var black = 0; black < size; black++) {
+                        if (blue != black) {
+                            states.add(new PuzzleState(toPosition(block),
+                                    toPosition(red),
+                                    toPosition(blue),
+                                    toPosition(black)));
+                        }
+                    }
+                }
+            }
+        }
+        return states;
+    }
+
+    static Position toPosition(int index) {
+        return new Position(index / PuzzleState.BOARD_SIZE, index % PuzzleState.BOARD_SIZE);
+    }
+
+    @Test
+    void getPredecessors_state1() {
+        assertEquals(List.of(new Predecessor(new PuzzleState(new Position(1, 0),
+                        new Position(2, 0),
+                        new Position(1, 1),
+                        new Position(0, 2)), Direction.UP),
+                new Predecessor(new PuzzleState(new Position(0, 1),
+                        new Position(2, 0),
+                        new Position(1, 1),
+                        new Position(0, 2)), Direction.LEFT)),
+                state1.getPredecessors());
+    }
+
+    @Test
+    void getPredecessors_state2() {
+        var predecessors = state2.getPredecessors();
+        assertTrue(predecessors.contains(new Predecessor(new PuzzleState(new Position(1, 0),
+                new Position(1, 0),
+                new Position(1, 0),
+                new Position(1, 2)), Direction.RIGHT)));
+        assertTrue(predecessors.contains(new Predecessor(new PuzzleState(new Position(0, 1),
+                new Position(0, 1),
+                new Position(1, 1),
+                new Position(1, 2)), Direction.DOWN)));
+        assertFalse(predecessors.contains(new Predecessor(new PuzzleState(new Position(2, 1),
+                new Position(2, 1),
+                new Position(2, 1),
+                new Position(1, 2)), Direction.UP)));
+    }
+
+    @Test
+    void getPredecessors_shouldInvertMove() {
+        var moves = 0;
+        var predecessorCount = 0;
+        for (var state : allStates()) {
+            for (var direction : state.getLegalMoves()) {
+                var successor = state.clone();
+                successor.move(direction);
+                assertTrue(successor.getPredecessors().contains(new Predecessor(state, direction)));
+                moves++;
+            }
+            for (var predecessor : state.getPredecessors()) {
+                assertTrue(predecessor.state().canMove(predecessor.direction()));
+                var successor = predecessor.state().clone();
+                successor.move(predecessor.direction());
+                assertEquals(state, successor);
+                predecessorCount++;
+            }
+        }
+        assertEquals(moves, predecessorCount);
+    }
+
     @Test
     void testEquals() {
         assertTrue(state1.equals(state1));
@@ -0,0 +1,76 @@
+package puzzle.tables;
+
+import org.junit.jupiter.api.Test;
+import puzzle.state.Direction;
+import puzzle.state.PuzzleState;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fails the build if the generated tables no longer match the rules implemented by {@link PuzzleState}.
+ */
+class LookupTablesTest {
+
+    LookupTables tables = LookupTables.getInstance();
+
+    static PuzzleState unpackOrNull(int packed) {
+        try {
+            return PuzzleState.unpack(packed);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Test
+    void getSuccessor() {
+        for (var packed = 0; packed < tables.getStateCount(); packed++) {
+            var state = unpackOrNull(packed);
+            for (var direction : Direction.values()) {
+                if (state == null || ! state.canMove(direction)) {
+                    assertEquals(LookupTables.NONE, tables.getSuccessor(packed, direction));
+                } else {
+                    var successor = state.clone();
+                    successor.move(direction);
+                    assertEquals(successor.pack(), tables.getSuccessor(packed, direction));
+                }
+            }
+        }
+    }
+
+    @Test
+    void getDistance() {
+        var maxDistance = 0;
+        for (var packed = 0; packed < tables.getStateCount(); packed++) {
+            var state = unpackOrNull(packed);
+            var distance = tables.getDistance(packed);
+            if (state == null) {
+                assertEquals(LookupTables.NONE, distance);
+                continue;
+            }
+            if (state.isGoal()) {
+                assertEquals(0, distance);
+                continue;
+            }
+            // The distances must satisfy the Bellman equations
+            var expected = LookupTables.NONE;
+            for (var direction : state.getLegalMoves()) {
+                var successorDistance = tables.getDistance(tables.getSuccessor(packed, direction));
+                if (successorDistance != LookupTables.NONE && (expected == LookupTables.NONE || successorDistance + 1 < expected)) {
+                    expected = successorDistance + 1;
+                }
+            }
+            assertEquals(expected, distance);
+            maxDistance = Math.max(maxDistance, distance);
+        }
+        assertEquals(maxDistance, tables.getMaxDistance());
+    }
+
+    @Test
+    void build_shouldBeDeterministic() {
+        // The constants are generated by the same builder during the build
+        var data = TableBuilder.build().toByteArray();
+        assertEquals(TableConstants.CHECKSUM, TableBuilder.checksum(data));
+        assertEquals(TableConstants.STATE_COUNT, TableBuilder.STATE_COUNT);
+    }
+
+}